@@ -0,0 +1,172 @@
+package com.sqa.benchmark;
+
+import com.sqa.services.AllureStepInterceptor;
+import com.sqa.services.GitHubService;
+import com.sqa.services.JacksonConverterFactory;
+import com.sqa.utils.IssueFixtures;
+import com.sqa.utils.Json;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.FileSystemResultsWriter;
+import io.qameta.allure.Step;
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.util.NamingUtils;
+import io.qameta.allure.util.ObjectUtils;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import retrofit2.Call;
+import retrofit2.Retrofit;
+import retrofit2.converter.scalars.ScalarsConverterFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of reporting one {@code getUsersIssues} call as an Allure step with the response attached.
+ * The network is replaced by a canned response so only the reporting overhead differs:
+ * <ul>
+ *     <li>{@code noSteps} - the bare Retrofit call;</li>
+ *     <li>{@code stepInterceptor} - {@link AllureStepInterceptor};</li>
+ *     <li>{@code reflectiveStep} - what the AspectJ step and attachment aspects do per call:
+ *     read {@link Step} and the parameters reflectively, render the name template and attach
+ *     the decoded body serialized back to a string, as an {@code @Attachment} method would.</li>
+ * </ul>
+ * Steps accumulate in one test result per iteration; attachments are written to a temporary
+ * results directory that is emptied after each iteration.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AllureStepBenchmark {
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    @Param({"1", "100"})
+    public int issues;
+
+    private Path resultsDirectory;
+    private AllureLifecycle lifecycle;
+    private GitHubService plainService;
+    private GitHubService interceptedService;
+    private Method getUsersIssues;
+    private String testUuid;
+
+    @Setup
+    public void setUp() throws Exception {
+        byte[] payload = IssueFixtures.issuesJsonBytes(issues);
+        Interceptor canned = chain -> new Response.Builder()
+                .request(chain.request())
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .body(ResponseBody.create(JSON, payload))
+                .build();
+
+        resultsDirectory = Files.createTempDirectory("allure-benchmark");
+        lifecycle = new AllureLifecycle(new FileSystemResultsWriter(resultsDirectory));
+        plainService = service(new OkHttpClient.Builder().addInterceptor(canned).build());
+        interceptedService = service(new OkHttpClient.Builder()
+                .addInterceptor(new AllureStepInterceptor(lifecycle, resultsDirectory))
+                .addInterceptor(canned)
+                .build());
+        getUsersIssues = GitHubService.class.getMethod("getUsersIssues", String.class, String.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void startTestCase() {
+        testUuid = UUID.randomUUID().toString();
+        lifecycle.scheduleTestCase(new TestResult().setUuid(testUuid).setName("benchmark"));
+        lifecycle.startTestCase(testUuid);
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopTestCase() throws IOException {
+        lifecycle.stopTestCase(testUuid);
+        lifecycle.writeTestCase(testUuid);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(resultsDirectory)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(resultsDirectory);
+    }
+
+    @Benchmark
+    public Object noSteps() throws IOException {
+        return plainService.getUsersIssues("token", IssueFixtures.OWNER).execute().body();
+    }
+
+    @Benchmark
+    public Object stepInterceptor() throws IOException {
+        return interceptedService.getUsersIssues("token", IssueFixtures.OWNER).execute().body();
+    }
+
+    @Benchmark
+    public Object reflectiveStep() throws Exception {
+        Object[] args = {"token", IssueFixtures.OWNER};
+        Step step = getUsersIssues.getAnnotation(Step.class);
+        java.lang.reflect.Parameter[] declared = getUsersIssues.getParameters();
+        Map<String, Object> values = new HashMap<>();
+        List<Parameter> parameters = new ArrayList<>();
+        for (int i = 0; i < declared.length; i++) {
+            values.put(declared[i].getName(), args[i]);
+            parameters.add(new Parameter().setName(declared[i].getName()).setValue(ObjectUtils.toString(args[i])));
+        }
+        String name = step.value().isEmpty() ? getUsersIssues.getName() : NamingUtils.processNameTemplate(step.value(), values);
+
+        String uuid = UUID.randomUUID().toString();
+        lifecycle.startStep(uuid, new StepResult().setName(name).setParameters(parameters));
+        Object body = ((Call<?>) getUsersIssues.invoke(plainService, args)).execute().body();
+        String attachment = Json.MAPPER.writeValueAsString(body);
+        lifecycle.addAttachment("response", "application/json", ".json", attachment.getBytes(StandardCharsets.UTF_8));
+        lifecycle.updateStep(uuid, s -> s.setStatus(Status.PASSED));
+        lifecycle.stopStep(uuid);
+        return body;
+    }
+
+    private static GitHubService service(OkHttpClient client) {
+        return new Retrofit.Builder()
+                .baseUrl("http://localhost/")
+                .client(client)
+                .addConverterFactory(ScalarsConverterFactory.create())
+                .addConverterFactory(JacksonConverterFactory.create())
+                .build()
+                .create(GitHubService.class);
+    }
+}
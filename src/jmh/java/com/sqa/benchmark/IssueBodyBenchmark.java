@@ -0,0 +1,98 @@
+package com.sqa.benchmark;
+
+import com.sqa.model.github.Issue;
+import com.sqa.services.GitHubService;
+import com.sqa.services.JacksonConverterFactory;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds and writes the body of a new issue the way each {@link GitHubService} POST variant does:
+ * <ul>
+ *     <li>{@code concatenatedString} - {@code postIssue} with a hand-built string;</li>
+ *     <li>{@code jacksonMap} / {@code jacksonPojo} - {@code postIssueMap} / {@code postIssuePojo}
+ *     through {@link JacksonConverterFactory};</li>
+ *     <li>{@code template} - {@code postIssueTemplate} with {@link GitHubService#NEW_ISSUE}.</li>
+ * </ul>
+ * Every variant ends with the body measured and written to a sink, as OkHttp would; the sink is
+ * cleared and reused so that its segments go back to okio's pool. Run with {@code -prof gc}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IssueBodyBenchmark {
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=UTF-8");
+    private static final Annotation[] NONE = new Annotation[0];
+
+    private final String title = "lux-training \"09\"";
+    private final String body = "Description of issue\nwith a second line";
+    private final Converter<Object, RequestBody> mapConverter = converter(Map.class);
+    private final Converter<Object, RequestBody> pojoConverter = converter(Issue.class);
+    private final Buffer sink = new Buffer();
+
+    @Benchmark
+    public long concatenatedString() throws IOException {
+        String json = "{\"title\":\"" + escape(title) + "\",\"body\":\"" + escape(body) + "\"}";
+        return write(RequestBody.create(JSON, json));
+    }
+
+    @Benchmark
+    public long jacksonMap() throws IOException {
+        Map<String, Object> issue = new LinkedHashMap<>();
+        issue.put("title", title);
+        issue.put("body", body);
+        return write(mapConverter.convert(issue));
+    }
+
+    @Benchmark
+    public long jacksonPojo() throws IOException {
+        return write(pojoConverter.convert(new Issue().setTitle(title).setBody(body)));
+    }
+
+    @Benchmark
+    public long template() throws IOException {
+        return write(GitHubService.NEW_ISSUE.bind(title, body));
+    }
+
+    private long write(RequestBody requestBody) throws IOException {
+        long length = requestBody.contentLength();
+        requestBody.writeTo(sink);
+        long size = sink.size();
+        sink.clear();
+        return size + length;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Converter<Object, RequestBody> converter(Type type) {
+        Retrofit retrofit = new Retrofit.Builder().baseUrl("https://api.github.com/").build();
+        return (Converter<Object, RequestBody>) JacksonConverterFactory.create()
+                .requestBodyConverter(type, NONE, NONE, retrofit);
+    }
+}
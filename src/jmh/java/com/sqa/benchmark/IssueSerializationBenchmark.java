@@ -0,0 +1,123 @@
+package com.sqa.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.sqa.model.github.Issue;
+import com.sqa.model.github.IssueCodec;
+import com.sqa.utils.IssueFixtures;
+import com.sqa.utils.Json;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import okio.Buffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodes and encodes locally generated issue lists through every JSON path the suite uses. The
+ * databind and RestAssured paths go through {@link IssueCodec} via the model's annotations; the
+ * streaming ones call it directly and skip the databind dispatch.
+ * Run with the GC profiler (the default in the {@code jmh} profile) to get bytes allocated per op.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IssueSerializationBenchmark {
+
+    private static final Type ISSUE_LIST = new TypeToken<List<Issue>>() { }.getType();
+
+    @Param({"1", "100", "10000"})
+    public int issues;
+
+    private final Gson gson = new Gson();
+    private final JsonFactory jsonFactory = Json.MAPPER.getFactory();
+    private final ObjectReader jacksonReader = Json.MAPPER.readerFor(new TypeReference<List<Issue>>() { });
+    private final ObjectWriter jacksonWriter = Json.MAPPER.writerFor(new TypeReference<List<Issue>>() { });
+
+    private byte[] payload;
+    private List<Issue> decoded;
+    private Response restAssuredResponse;
+
+    @Setup
+    public void setUp() throws IOException {
+        payload = IssueFixtures.issuesJsonBytes(issues);
+        decoded = jacksonReader.readValue(payload);
+        restAssuredResponse = new ResponseBuilder()
+                .setStatusCode(200)
+                .setContentType("application/json")
+                .setBody(payload)
+                .build();
+    }
+
+    @Benchmark
+    public List<Issue> gsonDecode() {
+        return gson.fromJson(
+                new InputStreamReader(new ByteArrayInputStream(payload), StandardCharsets.UTF_8), ISSUE_LIST);
+    }
+
+    @Benchmark
+    public List<Issue> jacksonDatabindDecode() throws IOException {
+        return jacksonReader.readValue(payload);
+    }
+
+    @Benchmark
+    public List<Issue> jacksonStreamingDecode() throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(payload)) {
+            return IssueCodec.readIssues(parser);
+        }
+    }
+
+    @Benchmark
+    public List<Issue> restAssuredDecode() {
+        return Arrays.asList(restAssuredResponse.as(Issue[].class));
+    }
+
+    @Benchmark
+    public byte[] gsonEncode() {
+        return gson.toJson(decoded).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] jacksonDatabindEncode() throws IOException {
+        return jacksonWriter.writeValueAsBytes(decoded);
+    }
+
+    @Benchmark
+    public long jacksonStreamingEncode() throws IOException {
+        Buffer buffer = new Buffer();
+        try (JsonGenerator generator = jsonFactory.createGenerator(buffer.outputStream())) {
+            generator.writeStartArray();
+            for (Issue issue : decoded) {
+                IssueCodec.writeIssue(generator, issue);
+            }
+            generator.writeEndArray();
+        }
+        return buffer.size();
+    }
+}
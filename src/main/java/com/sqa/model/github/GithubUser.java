@@ -1,74 +1,38 @@
 package com.sqa.model.github;
 
 
-import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.experimental.Accessors;
 
 import javax.annotation.Generated;
 
-@JsonInclude(JsonInclude.Include.NON_NULL)
-@JsonPropertyOrder({
-        "login",
-        "id",
-        "node_id",
-        "avatar_url",
-        "gravatar_id",
-        "url",
-        "html_url",
-        "followers_url",
-        "following_url",
-        "gists_url",
-        "starred_url",
-        "subscriptions_url",
-        "organizations_url",
-        "repos_url",
-        "events_url",
-        "received_events_url",
-        "type",
-        "site_admin"
-})
+@JsonSerialize(using = IssueCodec.UserSerializer.class)
+@JsonDeserialize(using = IssueCodec.UserDeserializer.class)
 
 @Getter
 @Setter
+@Accessors(chain = true)
 public class GithubUser {
-    @JsonProperty("login")
     private String login;
-    @JsonProperty("id")
-    private Integer id;
-    @JsonProperty("node_id")
+    private long id;
     private String nodeId;
-    @JsonProperty("avatar_url")
     private String avatarUrl;
-    @JsonProperty("gravatar_id")
     private String gravatarId;
-    @JsonProperty("url")
     private String url;
-    @JsonProperty("html_url")
     private String htmlUrl;
-    @JsonProperty("followers_url")
     private String followersUrl;
-    @JsonProperty("following_url")
     private String followingUrl;
-    @JsonProperty("gists_url")
     private String gistsUrl;
-    @JsonProperty("starred_url")
     private String starredUrl;
-    @JsonProperty("subscriptions_url")
     private String subscriptionsUrl;
-    @JsonProperty("organizations_url")
     private String organizationsUrl;
-    @JsonProperty("repos_url")
     private String reposUrl;
-    @JsonProperty("events_url")
     private String eventsUrl;
-    @JsonProperty("received_events_url")
     private String receivedEventsUrl;
-    @JsonProperty("type")
     private String type;
-    @JsonProperty("site_admin")
-    private Boolean siteAdmin;
+    private boolean siteAdmin;
 
 }
@@ -1,98 +1,51 @@
 package com.sqa.model.github;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 import javax.annotation.Generated;
 
-import com.fasterxml.jackson.annotation.*;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.gson.annotations.JsonAdapter;
 import lombok.*;
 import lombok.experimental.Accessors;
 
-@JsonInclude(JsonInclude.Include.NON_NULL)
-@JsonPropertyOrder({
-        "url",
-        "repository_url",
-        "labels_url",
-        "comments_url",
-        "events_url",
-        "html_url",
-        "id",
-        "node_id",
-        "number",
-        "title",
-        "user",
-        "labels",
-        "state",
-        "locked",
-        "assignee",
-        "assignees",
-        "milestone",
-        "comments",
-        "created_at",
-        "updated_at",
-        "closed_at",
-        "author_association",
-        "active_lock_reason",
-        "body",
-        "performed_via_github_app"
-})
+@JsonSerialize(using = IssueCodec.IssueSerializer.class)
+@JsonDeserialize(using = IssueCodec.IssueDeserializer.class)
 
 @Getter
 @Setter
 @Accessors(chain = true)
-@JsonIgnoreProperties(ignoreUnknown = true)
 //@Builder
 //@AllArgsConstructor
 public class Issue {
 
-    @JsonProperty("url")
     private String url;
-    @JsonProperty("repository_url")
     private String repositoryUrl;
-    @JsonProperty("labels_url")
     private String labelsUrl;
-    @JsonProperty("comments_url")
     private String commentsUrl;
-    @JsonProperty("events_url")
     private String eventsUrl;
-    @JsonProperty("html_url")
     private String htmlUrl;
-    @JsonProperty("id")
-    private Integer id;
-    @JsonProperty("node_id")
+    private long id;
     private String nodeId;
-    @JsonProperty("number")
-    private Integer number;
-    @JsonProperty("title")
+    private int number;
     private String title;
-    @JsonProperty("user")
     private GithubUser user;
-    @JsonProperty("labels")
-    private List<Object> labels = null;
-    @JsonProperty("state")
+    private List<Label> labels = null;
     private String state;
-    @JsonProperty("locked")
-    private Boolean locked;
-    @JsonProperty("assignee")
-    private Object assignee;
-    @JsonProperty("assignees")
-    private List<Object> assignees = null;
-    @JsonProperty("milestone")
-    private Object milestone;
-    @JsonProperty("comments")
-    private Integer comments;
-    @JsonProperty("created_at")
-    private String createdAt;
-    @JsonProperty("updated_at")
-    private String updatedAt;
-    @JsonProperty("closed_at")
-    private Object closedAt;
-    @JsonProperty("author_association")
+    private boolean locked;
+    private GithubUser assignee;
+    private List<GithubUser> assignees = null;
+    private Milestone milestone;
+    private int comments;
+    @JsonAdapter(GsonInstantAdapter.class)
+    private Instant createdAt;
+    @JsonAdapter(GsonInstantAdapter.class)
+    private Instant updatedAt;
+    @JsonAdapter(GsonInstantAdapter.class)
+    private Instant closedAt;
     private String authorAssociation;
-    @JsonProperty("active_lock_reason")
-    private Object activeLockReason;
-    @JsonProperty("body")
-    private Object body;
-    @JsonProperty("performed_via_github_app")
-    private Object performedViaGithubApp;
+    private String activeLockReason;
+    private String body;
 }
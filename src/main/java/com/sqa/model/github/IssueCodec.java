@@ -0,0 +1,533 @@
+package com.sqa.model.github;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-written streaming codec for the GitHub model, bound with {@code @JsonSerialize} and
+ * {@code @JsonDeserialize} so that every {@code ObjectMapper} uses it, including the one inside
+ * RestAssured. Fields are matched with a {@code switch} on the name and set through the plain
+ * setters: no bean introspection, no reflective field access and no intermediate map trees.
+ * <p>
+ * The JSON names, their order and which values are written are decided here alone; the model
+ * classes carry no Jackson property annotations. Writing skips {@code null} references and
+ * primitives at their default value, and reading ignores unknown fields.
+ */
+public final class IssueCodec {
+
+    private static final String TIMESTAMP_SHAPE = "0000-00-00T00:00:00Z";
+    private static final int TIMESTAMP_LENGTH = TIMESTAMP_SHAPE.length();
+    private static final long MIN_FAST_DAY = LocalDate.of(0, 1, 1).toEpochDay();
+    private static final long MAX_FAST_DAY = LocalDate.of(9999, 12, 31).toEpochDay();
+
+    private IssueCodec() {
+    }
+
+    /**
+     * Reads an issue object. The parser is on its {@code START_OBJECT} (or first field name) and is
+     * left on its {@code END_OBJECT}.
+     */
+    public static Issue readIssue(JsonParser parser) throws IOException {
+        Issue issue = new Issue();
+        for (JsonToken token = firstField(parser, "issue"); token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "url": issue.setUrl(parser.getValueAsString()); break;
+                case "repository_url": issue.setRepositoryUrl(parser.getValueAsString()); break;
+                case "labels_url": issue.setLabelsUrl(parser.getValueAsString()); break;
+                case "comments_url": issue.setCommentsUrl(parser.getValueAsString()); break;
+                case "events_url": issue.setEventsUrl(parser.getValueAsString()); break;
+                case "html_url": issue.setHtmlUrl(parser.getValueAsString()); break;
+                case "id": issue.setId(parser.getValueAsLong()); break;
+                case "node_id": issue.setNodeId(parser.getValueAsString()); break;
+                case "number": issue.setNumber(parser.getValueAsInt()); break;
+                case "title": issue.setTitle(parser.getValueAsString()); break;
+                case "user": issue.setUser(value == JsonToken.VALUE_NULL ? null : readUser(parser)); break;
+                case "labels": issue.setLabels(readLabels(parser)); break;
+                case "state": issue.setState(parser.getValueAsString()); break;
+                case "locked": issue.setLocked(parser.getValueAsBoolean()); break;
+                case "assignee": issue.setAssignee(value == JsonToken.VALUE_NULL ? null : readUser(parser)); break;
+                case "assignees": issue.setAssignees(readUsers(parser)); break;
+                case "milestone": issue.setMilestone(value == JsonToken.VALUE_NULL ? null : readMilestone(parser)); break;
+                case "comments": issue.setComments(parser.getValueAsInt()); break;
+                case "created_at": issue.setCreatedAt(readInstant(parser)); break;
+                case "updated_at": issue.setUpdatedAt(readInstant(parser)); break;
+                case "closed_at": issue.setClosedAt(readInstant(parser)); break;
+                case "author_association": issue.setAuthorAssociation(parser.getValueAsString()); break;
+                case "active_lock_reason": issue.setActiveLockReason(parser.getValueAsString()); break;
+                case "body": issue.setBody(parser.getValueAsString()); break;
+                default: parser.skipChildren();
+            }
+        }
+        return issue;
+    }
+
+    /**
+     * Reads a whole JSON array of issues, e.g. one page of {@code repos/{user}/rest/issues}.
+     */
+    public static List<Issue> readIssues(JsonParser parser) throws IOException {
+        if (parser.currentToken() == null) {
+            parser.nextToken();
+        }
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(parser, JsonToken.START_ARRAY, "issue list");
+        List<Issue> issues = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            issues.add(readIssue(parser));
+        }
+        return issues;
+    }
+
+    public static GithubUser readUser(JsonParser parser) throws IOException {
+        GithubUser user = new GithubUser();
+        for (JsonToken token = firstField(parser, "user"); token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "login": user.setLogin(parser.getValueAsString()); break;
+                case "id": user.setId(parser.getValueAsLong()); break;
+                case "node_id": user.setNodeId(parser.getValueAsString()); break;
+                case "avatar_url": user.setAvatarUrl(parser.getValueAsString()); break;
+                case "gravatar_id": user.setGravatarId(parser.getValueAsString()); break;
+                case "url": user.setUrl(parser.getValueAsString()); break;
+                case "html_url": user.setHtmlUrl(parser.getValueAsString()); break;
+                case "followers_url": user.setFollowersUrl(parser.getValueAsString()); break;
+                case "following_url": user.setFollowingUrl(parser.getValueAsString()); break;
+                case "gists_url": user.setGistsUrl(parser.getValueAsString()); break;
+                case "starred_url": user.setStarredUrl(parser.getValueAsString()); break;
+                case "subscriptions_url": user.setSubscriptionsUrl(parser.getValueAsString()); break;
+                case "organizations_url": user.setOrganizationsUrl(parser.getValueAsString()); break;
+                case "repos_url": user.setReposUrl(parser.getValueAsString()); break;
+                case "events_url": user.setEventsUrl(parser.getValueAsString()); break;
+                case "received_events_url": user.setReceivedEventsUrl(parser.getValueAsString()); break;
+                case "type": user.setType(parser.getValueAsString()); break;
+                case "site_admin": user.setSiteAdmin(parser.getValueAsBoolean()); break;
+                default: parser.skipChildren();
+            }
+        }
+        return user;
+    }
+
+    public static Label readLabel(JsonParser parser) throws IOException {
+        Label label = new Label();
+        for (JsonToken token = firstField(parser, "label"); token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "id": label.setId(parser.getValueAsLong()); break;
+                case "node_id": label.setNodeId(parser.getValueAsString()); break;
+                case "url": label.setUrl(parser.getValueAsString()); break;
+                case "name": label.setName(parser.getValueAsString()); break;
+                case "color": label.setColor(parser.getValueAsString()); break;
+                case "default": label.setDefault(parser.getValueAsBoolean()); break;
+                case "description": label.setDescription(parser.getValueAsString()); break;
+                default: parser.skipChildren();
+            }
+        }
+        return label;
+    }
+
+    public static Milestone readMilestone(JsonParser parser) throws IOException {
+        Milestone milestone = new Milestone();
+        for (JsonToken token = firstField(parser, "milestone"); token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "url": milestone.setUrl(parser.getValueAsString()); break;
+                case "html_url": milestone.setHtmlUrl(parser.getValueAsString()); break;
+                case "labels_url": milestone.setLabelsUrl(parser.getValueAsString()); break;
+                case "id": milestone.setId(parser.getValueAsLong()); break;
+                case "node_id": milestone.setNodeId(parser.getValueAsString()); break;
+                case "number": milestone.setNumber(parser.getValueAsInt()); break;
+                case "title": milestone.setTitle(parser.getValueAsString()); break;
+                case "description": milestone.setDescription(parser.getValueAsString()); break;
+                case "creator": milestone.setCreator(value == JsonToken.VALUE_NULL ? null : readUser(parser)); break;
+                case "open_issues": milestone.setOpenIssues(parser.getValueAsInt()); break;
+                case "closed_issues": milestone.setClosedIssues(parser.getValueAsInt()); break;
+                case "state": milestone.setState(parser.getValueAsString()); break;
+                case "created_at": milestone.setCreatedAt(readInstant(parser)); break;
+                case "updated_at": milestone.setUpdatedAt(readInstant(parser)); break;
+                case "due_on": milestone.setDueOn(readInstant(parser)); break;
+                case "closed_at": milestone.setClosedAt(readInstant(parser)); break;
+                default: parser.skipChildren();
+            }
+        }
+        return milestone;
+    }
+
+    public static List<Label> readLabels(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(parser, JsonToken.START_ARRAY, "label list");
+        List<Label> labels = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            labels.add(readLabel(parser));
+        }
+        return labels;
+    }
+
+    public static List<GithubUser> readUsers(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(parser, JsonToken.START_ARRAY, "user list");
+        List<GithubUser> users = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            users.add(readUser(parser));
+        }
+        return users;
+    }
+
+    /**
+     * Reads an ISO-8601 timestamp, or {@code null}. GitHub's {@code 2021-10-10T10:15:30Z} form is
+     * decoded straight from the parser's character buffer; anything else goes through
+     * {@link Instant#parse}.
+     */
+    public static Instant readInstant(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            String text = parser.getValueAsString();
+            return text == null ? null : Instant.parse(text);
+        }
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        if (parser.getTextLength() == TIMESTAMP_LENGTH && isUtcSeconds(chars, offset)) {
+            int hour = digits(chars, offset + 11, 2);
+            int minute = digits(chars, offset + 14, 2);
+            int second = digits(chars, offset + 17, 2);
+            // out of range, e.g. a leap second: Instant.parse decides
+            if (hour < 24 && minute < 60 && second < 60) {
+                long days = LocalDate.of(digits(chars, offset, 4), digits(chars, offset + 5, 2), digits(chars, offset + 8, 2))
+                        .toEpochDay();
+                return Instant.ofEpochSecond(days * 86_400 + hour * 3600 + minute * 60 + second);
+            }
+        }
+        return Instant.parse(parser.getText());
+    }
+
+    public static void writeIssue(JsonGenerator generator, Issue issue) throws IOException {
+        generator.writeStartObject();
+        writeString(generator, "url", issue.getUrl());
+        writeString(generator, "repository_url", issue.getRepositoryUrl());
+        writeString(generator, "labels_url", issue.getLabelsUrl());
+        writeString(generator, "comments_url", issue.getCommentsUrl());
+        writeString(generator, "events_url", issue.getEventsUrl());
+        writeString(generator, "html_url", issue.getHtmlUrl());
+        writeLong(generator, "id", issue.getId());
+        writeString(generator, "node_id", issue.getNodeId());
+        writeLong(generator, "number", issue.getNumber());
+        writeString(generator, "title", issue.getTitle());
+        if (issue.getUser() != null) {
+            generator.writeFieldName("user");
+            writeUser(generator, issue.getUser());
+        }
+        if (issue.getLabels() != null) {
+            generator.writeArrayFieldStart("labels");
+            for (Label label : issue.getLabels()) {
+                writeLabel(generator, label);
+            }
+            generator.writeEndArray();
+        }
+        writeString(generator, "state", issue.getState());
+        writeBoolean(generator, "locked", issue.isLocked());
+        if (issue.getAssignee() != null) {
+            generator.writeFieldName("assignee");
+            writeUser(generator, issue.getAssignee());
+        }
+        if (issue.getAssignees() != null) {
+            generator.writeArrayFieldStart("assignees");
+            for (GithubUser assignee : issue.getAssignees()) {
+                writeUser(generator, assignee);
+            }
+            generator.writeEndArray();
+        }
+        if (issue.getMilestone() != null) {
+            generator.writeFieldName("milestone");
+            writeMilestone(generator, issue.getMilestone());
+        }
+        writeLong(generator, "comments", issue.getComments());
+        writeInstant(generator, "created_at", issue.getCreatedAt());
+        writeInstant(generator, "updated_at", issue.getUpdatedAt());
+        writeInstant(generator, "closed_at", issue.getClosedAt());
+        writeString(generator, "author_association", issue.getAuthorAssociation());
+        writeString(generator, "active_lock_reason", issue.getActiveLockReason());
+        writeString(generator, "body", issue.getBody());
+        generator.writeEndObject();
+    }
+
+    public static void writeUser(JsonGenerator generator, GithubUser user) throws IOException {
+        generator.writeStartObject();
+        writeString(generator, "login", user.getLogin());
+        writeLong(generator, "id", user.getId());
+        writeString(generator, "node_id", user.getNodeId());
+        writeString(generator, "avatar_url", user.getAvatarUrl());
+        writeString(generator, "gravatar_id", user.getGravatarId());
+        writeString(generator, "url", user.getUrl());
+        writeString(generator, "html_url", user.getHtmlUrl());
+        writeString(generator, "followers_url", user.getFollowersUrl());
+        writeString(generator, "following_url", user.getFollowingUrl());
+        writeString(generator, "gists_url", user.getGistsUrl());
+        writeString(generator, "starred_url", user.getStarredUrl());
+        writeString(generator, "subscriptions_url", user.getSubscriptionsUrl());
+        writeString(generator, "organizations_url", user.getOrganizationsUrl());
+        writeString(generator, "repos_url", user.getReposUrl());
+        writeString(generator, "events_url", user.getEventsUrl());
+        writeString(generator, "received_events_url", user.getReceivedEventsUrl());
+        writeString(generator, "type", user.getType());
+        writeBoolean(generator, "site_admin", user.isSiteAdmin());
+        generator.writeEndObject();
+    }
+
+    public static void writeLabel(JsonGenerator generator, Label label) throws IOException {
+        generator.writeStartObject();
+        writeLong(generator, "id", label.getId());
+        writeString(generator, "node_id", label.getNodeId());
+        writeString(generator, "url", label.getUrl());
+        writeString(generator, "name", label.getName());
+        writeString(generator, "color", label.getColor());
+        writeBoolean(generator, "default", label.isDefault());
+        writeString(generator, "description", label.getDescription());
+        generator.writeEndObject();
+    }
+
+    public static void writeMilestone(JsonGenerator generator, Milestone milestone) throws IOException {
+        generator.writeStartObject();
+        writeString(generator, "url", milestone.getUrl());
+        writeString(generator, "html_url", milestone.getHtmlUrl());
+        writeString(generator, "labels_url", milestone.getLabelsUrl());
+        writeLong(generator, "id", milestone.getId());
+        writeString(generator, "node_id", milestone.getNodeId());
+        writeLong(generator, "number", milestone.getNumber());
+        writeString(generator, "title", milestone.getTitle());
+        writeString(generator, "description", milestone.getDescription());
+        if (milestone.getCreator() != null) {
+            generator.writeFieldName("creator");
+            writeUser(generator, milestone.getCreator());
+        }
+        writeLong(generator, "open_issues", milestone.getOpenIssues());
+        writeLong(generator, "closed_issues", milestone.getClosedIssues());
+        writeString(generator, "state", milestone.getState());
+        writeInstant(generator, "created_at", milestone.getCreatedAt());
+        writeInstant(generator, "updated_at", milestone.getUpdatedAt());
+        writeInstant(generator, "due_on", milestone.getDueOn());
+        writeInstant(generator, "closed_at", milestone.getClosedAt());
+        generator.writeEndObject();
+    }
+
+    private static JsonToken firstField(JsonParser parser, String what) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            return parser.nextToken();
+        }
+        if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            throw new JsonParseException(parser, "Expected " + what + " object but found " + token);
+        }
+        return token;
+    }
+
+    private static void expect(JsonParser parser, JsonToken expected, String what) throws IOException {
+        if (parser.currentToken() != expected) {
+            throw new JsonParseException(parser, "Expected " + what + " but found " + parser.currentToken());
+        }
+    }
+
+    private static void writeString(JsonGenerator generator, String field, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(field, value);
+        }
+    }
+
+    private static void writeLong(JsonGenerator generator, String field, long value) throws IOException {
+        if (value != 0) {
+            generator.writeNumberField(field, value);
+        }
+    }
+
+    private static void writeBoolean(JsonGenerator generator, String field, boolean value) throws IOException {
+        if (value) {
+            generator.writeBooleanField(field, true);
+        }
+    }
+
+    private static void writeInstant(JsonGenerator generator, String field, Instant value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        generator.writeFieldName(field);
+        long seconds = value.getEpochSecond();
+        long days = Math.floorDiv(seconds, 86_400);
+        if (value.getNano() != 0 || days < MIN_FAST_DAY || days > MAX_FAST_DAY) {
+            generator.writeString(value.toString());
+            return;
+        }
+        LocalDate date = LocalDate.ofEpochDay(days);
+        int secondOfDay = (int) (seconds - days * 86_400);
+        char[] chars = new char[TIMESTAMP_LENGTH];
+        putDigits(chars, 0, date.getYear(), 4);
+        chars[4] = '-';
+        putDigits(chars, 5, date.getMonthValue(), 2);
+        chars[7] = '-';
+        putDigits(chars, 8, date.getDayOfMonth(), 2);
+        chars[10] = 'T';
+        putDigits(chars, 11, secondOfDay / 3600, 2);
+        chars[13] = ':';
+        putDigits(chars, 14, secondOfDay / 60 % 60, 2);
+        chars[16] = ':';
+        putDigits(chars, 17, secondOfDay % 60, 2);
+        chars[19] = 'Z';
+        generator.writeString(chars, 0, TIMESTAMP_LENGTH);
+    }
+
+    private static boolean isUtcSeconds(char[] chars, int offset) {
+        for (int i = 0; i < TIMESTAMP_LENGTH; i++) {
+            char c = chars[offset + i];
+            char expected = TIMESTAMP_SHAPE.charAt(i);
+            if (expected == '0' ? c < '0' || c > '9' : c != expected) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int digits(char[] chars, int offset, int count) {
+        int value = 0;
+        for (int i = 0; i < count; i++) {
+            value = value * 10 + chars[offset + i] - '0';
+        }
+        return value;
+    }
+
+    private static void putDigits(char[] chars, int offset, int value, int count) {
+        for (int i = offset + count - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    public static final class IssueSerializer extends StdSerializer<Issue> {
+
+        private static final long serialVersionUID = 1L;
+
+        public IssueSerializer() {
+            super(Issue.class);
+        }
+
+        @Override
+        public void serialize(Issue value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            writeIssue(generator, value);
+        }
+    }
+
+    public static final class IssueDeserializer extends StdDeserializer<Issue> {
+
+        private static final long serialVersionUID = 1L;
+
+        public IssueDeserializer() {
+            super(Issue.class);
+        }
+
+        @Override
+        public Issue deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            return readIssue(parser);
+        }
+    }
+
+    public static final class UserSerializer extends StdSerializer<GithubUser> {
+
+        private static final long serialVersionUID = 1L;
+
+        public UserSerializer() {
+            super(GithubUser.class);
+        }
+
+        @Override
+        public void serialize(GithubUser value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            writeUser(generator, value);
+        }
+    }
+
+    public static final class UserDeserializer extends StdDeserializer<GithubUser> {
+
+        private static final long serialVersionUID = 1L;
+
+        public UserDeserializer() {
+            super(GithubUser.class);
+        }
+
+        @Override
+        public GithubUser deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            return readUser(parser);
+        }
+    }
+
+    public static final class LabelSerializer extends StdSerializer<Label> {
+
+        private static final long serialVersionUID = 1L;
+
+        public LabelSerializer() {
+            super(Label.class);
+        }
+
+        @Override
+        public void serialize(Label value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            writeLabel(generator, value);
+        }
+    }
+
+    public static final class LabelDeserializer extends StdDeserializer<Label> {
+
+        private static final long serialVersionUID = 1L;
+
+        public LabelDeserializer() {
+            super(Label.class);
+        }
+
+        @Override
+        public Label deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            return readLabel(parser);
+        }
+    }
+
+    public static final class MilestoneSerializer extends StdSerializer<Milestone> {
+
+        private static final long serialVersionUID = 1L;
+
+        public MilestoneSerializer() {
+            super(Milestone.class);
+        }
+
+        @Override
+        public void serialize(Milestone value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            writeMilestone(generator, value);
+        }
+    }
+
+    public static final class MilestoneDeserializer extends StdDeserializer<Milestone> {
+
+        private static final long serialVersionUID = 1L;
+
+        public MilestoneDeserializer() {
+            super(Milestone.class);
+        }
+
+        @Override
+        public Milestone deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            return readMilestone(parser);
+        }
+    }
+}
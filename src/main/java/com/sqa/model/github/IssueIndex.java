@@ -0,0 +1,229 @@
+package com.sqa.model.github;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Read-only index over fetched issues, for tests that look issues up more than once. Lookups by
+ * {@code id} and {@code number} are hash lookups; lookups by state, author login and title or body
+ * words cost in proportion to the issues they return, not to the size of the repository.
+ * <p>
+ * Built in one pass from a list or straight from an {@link com.sqa.services.IssuePager}, so the
+ * pages do not have to be collected first. An issue seen twice (pages shift while a repository is
+ * being walked) is indexed once: the later copy replaces the earlier one in every lookup. Issues
+ * without an {@code id}, e.g. built locally, are never treated as copies of each other.
+ */
+public final class IssueIndex {
+
+    /** Indexed issues by ordinal, {@code null} where a later copy replaced the issue. */
+    private final List<Issue> slots = new ArrayList<>();
+    private final Map<Long, Integer> byId = new HashMap<>();
+    private final Map<Integer, Integer> byNumber = new HashMap<>();
+    private final Map<String, Postings> byState = new HashMap<>();
+    private final Map<String, Postings> byAuthor = new HashMap<>();
+    private final Map<String, Postings> byWord = new HashMap<>();
+    private int size;
+
+    private IssueIndex() {
+    }
+
+    public static IssueIndex of(Iterable<? extends Issue> issues) {
+        return of(issues.iterator());
+    }
+
+    /**
+     * Indexes the remaining issues of {@code issues}, e.g. an {@link com.sqa.services.IssuePager}
+     * or the iterator of {@link com.sqa.services.IssuePager#stream}. Closing it is up to the caller.
+     */
+    public static IssueIndex of(Iterator<? extends Issue> issues) {
+        IssueIndex index = new IssueIndex();
+        while (issues.hasNext()) {
+            index.add(issues.next());
+        }
+        return index;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Every indexed issue, in the order they were indexed. */
+    public List<Issue> issues() {
+        List<Issue> issues = new ArrayList<>(size);
+        for (Issue issue : slots) {
+            if (issue != null) {
+                issues.add(issue);
+            }
+        }
+        return issues;
+    }
+
+    /** The issue with this {@code id}, or {@code null}. */
+    public Issue byId(long id) {
+        return slot(byId.get(id));
+    }
+
+    /** The issue with this {@code number}, or {@code null}. */
+    public Issue byNumber(int number) {
+        return slot(byNumber.get(number));
+    }
+
+    /** Issues in this state, e.g. {@code "open"}, in the order they were indexed. */
+    public List<Issue> withState(String state) {
+        return collect(byState.get(state));
+    }
+
+    /** Issues opened by the user with this login, in the order they were indexed. */
+    public List<Issue> byAuthor(String login) {
+        return collect(byAuthor.get(login));
+    }
+
+    /**
+     * Issues whose title or body contains every word of {@code words}, ignoring case and
+     * punctuation, in the order they were indexed. Empty when {@code words} has no word.
+     */
+    public List<Issue> search(String words) {
+        List<String> tokens = tokens(words);
+        if (tokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Postings[] postings = new Postings[tokens.size()];
+        for (int i = 0; i < postings.length; i++) {
+            postings[i] = byWord.get(tokens.get(i));
+            if (postings[i] == null) {
+                return Collections.emptyList();
+            }
+        }
+        Arrays.sort(postings, (a, b) -> Integer.compare(a.size, b.size));
+
+        List<Issue> matches = new ArrayList<>();
+        int[] cursors = new int[postings.length];
+        candidates:
+        for (int i = 0; i < postings[0].size; i++) {
+            int ordinal = postings[0].ordinals[i];
+            for (int p = 1; p < postings.length; p++) {
+                if (!postings[p].advanceTo(ordinal, cursors, p)) {
+                    continue candidates;
+                }
+            }
+            if (slots.get(ordinal) != null) {
+                matches.add(slots.get(ordinal));
+            }
+        }
+        return matches;
+    }
+
+    /** Issues titled exactly {@code title}, in the order they were indexed. */
+    public List<Issue> withTitle(String title) {
+        List<Issue> candidates = tokens(title).isEmpty() ? issues() : search(title);
+        List<Issue> matches = new ArrayList<>();
+        for (Issue issue : candidates) {
+            if (title.equals(issue.getTitle())) {
+                matches.add(issue);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Gives {@code issue} the next ordinal. An earlier copy keeps its postings but its slot is
+     * cleared, so lookups skip it; ordinals only grow, which keeps every postings list ascending.
+     */
+    private void add(Issue issue) {
+        int ordinal = slots.size();
+        if (issue.getId() != 0) {
+            Integer earlier = byId.put(issue.getId(), ordinal);
+            if (earlier != null && slots.get(earlier) != null) {
+                slots.set(earlier, null);
+                size--;
+            }
+        }
+        slots.add(issue);
+        size++;
+        if (issue.getNumber() != 0) {
+            byNumber.put(issue.getNumber(), ordinal);
+        }
+        if (issue.getState() != null) {
+            byState.computeIfAbsent(issue.getState(), state -> new Postings()).add(ordinal);
+        }
+        if (issue.getUser() != null && issue.getUser().getLogin() != null) {
+            byAuthor.computeIfAbsent(issue.getUser().getLogin(), login -> new Postings()).add(ordinal);
+        }
+        for (String token : tokens(issue.getTitle())) {
+            byWord.computeIfAbsent(token, word -> new Postings()).add(ordinal);
+        }
+        for (String token : tokens(issue.getBody())) {
+            byWord.computeIfAbsent(token, word -> new Postings()).add(ordinal);
+        }
+    }
+
+    /** Lower-cased runs of letters and digits; everything else separates words. */
+    static List<String> tokens(String text) {
+        if (text == null) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private Issue slot(Integer ordinal) {
+        return ordinal == null ? null : slots.get(ordinal);
+    }
+
+    private List<Issue> collect(Postings postings) {
+        if (postings == null) {
+            return Collections.emptyList();
+        }
+        List<Issue> issues = new ArrayList<>(postings.size);
+        for (int i = 0; i < postings.size; i++) {
+            Issue issue = slots.get(postings.ordinals[i]);
+            if (issue != null) {
+                issues.add(issue);
+            }
+        }
+        return issues;
+    }
+
+    /** Ascending, distinct ordinals of the issues with one word, state or author. */
+    private static final class Postings {
+        private int[] ordinals = new int[4];
+        private int size;
+
+        void add(int ordinal) {
+            if (size > 0 && ordinals[size - 1] == ordinal) {
+                return;
+            }
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+
+        /**
+         * Moves {@code cursors[slot]} to the first ordinal not below {@code ordinal} and tells
+         * whether it is that ordinal. Candidates come in ascending order, so cursors only move
+         * forward, and a binary search keeps a long list from being walked entry by entry.
+         */
+        boolean advanceTo(int ordinal, int[] cursors, int slot) {
+            int found = Arrays.binarySearch(ordinals, cursors[slot], size, ordinal);
+            cursors[slot] = found >= 0 ? found : -found - 1;
+            return found >= 0;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.sqa.model.github;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+@JsonSerialize(using = IssueCodec.LabelSerializer.class)
+@JsonDeserialize(using = IssueCodec.LabelDeserializer.class)
+
+@Getter
+@Setter
+@Accessors(chain = true)
+public class Label {
+
+    private long id;
+    private String nodeId;
+    private String url;
+    private String name;
+    private String color;
+    private boolean isDefault;
+    private String description;
+}
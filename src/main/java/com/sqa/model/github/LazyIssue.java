@@ -0,0 +1,260 @@
+package com.sqa.model.github;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.sqa.utils.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only view of one issue inside the JSON bytes of a {@link LazyIssueList}.
+ * <p>
+ * Nothing is decoded up front. The first getter call scans the object once and records where each
+ * top-level value starts and ends, relative to the object's first byte; every getter then decodes
+ * just that range. Values are not cached, so repeated reads decode again. Low-cardinality
+ * strings ({@code state}, {@code author_association}, user logins) come from a pool shared by the
+ * views of one list, so retained values do not pile up duplicates; the pool goes away with the list.
+ */
+public final class LazyIssue {
+
+    private enum Field {
+        URL, HTML_URL, ID, NODE_ID, NUMBER, TITLE, USER, LABELS, STATE, LOCKED, ASSIGNEES,
+        COMMENTS, CREATED_AT, UPDATED_AT, CLOSED_AT, AUTHOR_ASSOCIATION, BODY;
+
+        static Field of(String name) {
+            switch (name) {
+                case "url": return URL;
+                case "html_url": return HTML_URL;
+                case "id": return ID;
+                case "node_id": return NODE_ID;
+                case "number": return NUMBER;
+                case "title": return TITLE;
+                case "user": return USER;
+                case "labels": return LABELS;
+                case "state": return STATE;
+                case "locked": return LOCKED;
+                case "assignees": return ASSIGNEES;
+                case "comments": return COMMENTS;
+                case "created_at": return CREATED_AT;
+                case "updated_at": return UPDATED_AT;
+                case "closed_at": return CLOSED_AT;
+                case "author_association": return AUTHOR_ASSOCIATION;
+                case "body": return BODY;
+                default: return null;
+            }
+        }
+    }
+
+    private static final Field[] FIELDS = Field.values();
+
+    private final byte[] json;
+    private final int start;
+    private final int length;
+    private final Map<String, String> strings;
+    private volatile int[] offsets;
+
+    LazyIssue(byte[] json, int start, int length, Map<String, String> strings) {
+        this.json = json;
+        this.start = start;
+        this.length = length;
+        this.strings = strings;
+    }
+
+    public Long getId() {
+        return longValue(Field.ID);
+    }
+
+    public Integer getNumber() {
+        Long number = longValue(Field.NUMBER);
+        return number == null ? null : number.intValue();
+    }
+
+    public String getNodeId() {
+        return string(Field.NODE_ID, false);
+    }
+
+    public String getUrl() {
+        return string(Field.URL, false);
+    }
+
+    public String getHtmlUrl() {
+        return string(Field.HTML_URL, false);
+    }
+
+    public String getTitle() {
+        return string(Field.TITLE, false);
+    }
+
+    public String getBody() {
+        return string(Field.BODY, false);
+    }
+
+    public String getState() {
+        return string(Field.STATE, true);
+    }
+
+    public Boolean getLocked() {
+        try (JsonParser parser = parserAt(Field.LOCKED)) {
+            return parser == null || parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getBooleanValue();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Integer getComments() {
+        Long comments = longValue(Field.COMMENTS);
+        return comments == null ? null : comments.intValue();
+    }
+
+    public Instant getCreatedAt() {
+        return instant(Field.CREATED_AT);
+    }
+
+    public Instant getUpdatedAt() {
+        return instant(Field.UPDATED_AT);
+    }
+
+    public Instant getClosedAt() {
+        return instant(Field.CLOSED_AT);
+    }
+
+    public String getAuthorAssociation() {
+        return string(Field.AUTHOR_ASSOCIATION, true);
+    }
+
+    /** The author's login without decoding the rest of {@code user}. */
+    public String getUserLogin() {
+        try (JsonParser parser = parserAt(Field.USER)) {
+            if (parser == null || parser.currentToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                parser.nextToken();
+                if ("login".equals(name)) {
+                    return pooled(parser.getValueAsString());
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public GithubUser getUser() {
+        try (JsonParser parser = parserAt(Field.USER)) {
+            return parser == null || parser.currentToken() == JsonToken.VALUE_NULL ? null : IssueCodec.readUser(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public List<Label> getLabels() {
+        try (JsonParser parser = parserAt(Field.LABELS)) {
+            return parser == null ? null : IssueCodec.readLabels(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public List<GithubUser> getAssignees() {
+        try (JsonParser parser = parserAt(Field.ASSIGNEES)) {
+            return parser == null ? null : IssueCodec.readUsers(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Decodes the whole object into a regular {@link Issue}. */
+    public Issue toIssue() {
+        try (JsonParser parser = Json.MAPPER.getFactory().createParser(json, start, length)) {
+            parser.nextToken();
+            return IssueCodec.readIssue(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String string(Field field, boolean pooled) {
+        try (JsonParser parser = parserAt(field)) {
+            if (parser == null || parser.currentToken() == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            String value = parser.getValueAsString();
+            return pooled ? pooled(value) : value;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Long longValue(Field field) {
+        try (JsonParser parser = parserAt(field)) {
+            return parser == null || parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getLongValue();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Instant instant(Field field) {
+        try (JsonParser parser = parserAt(field)) {
+            return parser == null ? null : IssueCodec.readInstant(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return a parser positioned on the field's value, or {@code null} if the field is absent
+     */
+    private JsonParser parserAt(Field field) throws IOException {
+        int[] index = offsets();
+        int offset = index[2 * field.ordinal()];
+        if (offset < 0) {
+            return null;
+        }
+        int end = index[2 * field.ordinal() + 1];
+        JsonParser parser = Json.MAPPER.getFactory().createParser(json, start + offset, end - offset);
+        parser.nextToken();
+        return parser;
+    }
+
+    private int[] offsets() {
+        int[] index = offsets;
+        if (index == null) {
+            index = new int[2 * FIELDS.length];
+            Arrays.fill(index, -1);
+            try (JsonParser parser = Json.MAPPER.getFactory().createParser(json, start, length)) {
+                parser.nextToken();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    Field field = Field.of(parser.getCurrentName());
+                    parser.nextToken();
+                    int valueStart = (int) parser.getTokenLocation().getByteOffset();
+                    parser.skipChildren();
+                    parser.finishToken();
+                    if (field != null) {
+                        index[2 * field.ordinal()] = valueStart;
+                        index[2 * field.ordinal() + 1] = (int) parser.getCurrentLocation().getByteOffset();
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            offsets = index;
+        }
+        return index;
+    }
+
+    private String pooled(String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = strings.putIfAbsent(value, value);
+        return existing == null ? value : existing;
+    }
+}
@@ -0,0 +1,80 @@
+package com.sqa.model.github;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.sqa.utils.Json;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Issue list that keeps the response bytes and decodes lazily, for large pages where tests only
+ * look at a few fields. Parsing only records where each issue starts and ends; a
+ * {@link LazyIssue} view is created on the first {@link #get(int)} of its index and holds no
+ * decoded values, only its field offsets once a getter has run.
+ * <p>
+ * The retained size is the UTF-8 bytes plus a few words per issue, against a fully populated
+ * {@link Issue} graph with its {@link GithubUser} and about thirty UTF-16 strings per issue.
+ */
+public final class LazyIssueList extends AbstractList<LazyIssue> implements RandomAccess {
+
+    private final byte[] json;
+    private final int[] starts;
+    private final int[] lengths;
+    private final LazyIssue[] views;
+    /** Pool of the views' low-cardinality strings, bounded by the distinct values in {@link #json}. */
+    private final Map<String, String> strings = new ConcurrentHashMap<>();
+
+    private LazyIssueList(byte[] json, int[] starts, int[] lengths) {
+        this.json = json;
+        this.starts = starts;
+        this.lengths = lengths;
+        this.views = new LazyIssue[starts.length];
+    }
+
+    /**
+     * Indexes a JSON array of issues. The array is kept, not copied.
+     */
+    public static LazyIssueList parse(byte[] json) throws IOException {
+        int[] starts = new int[16];
+        int[] lengths = new int[16];
+        int size = 0;
+        try (JsonParser parser = Json.MAPPER.getFactory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array of issues");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                int start = (int) parser.getTokenLocation().getByteOffset();
+                parser.skipChildren();
+                int end = (int) parser.getCurrentLocation().getByteOffset();
+                if (size == starts.length) {
+                    starts = Arrays.copyOf(starts, size * 2);
+                    lengths = Arrays.copyOf(lengths, size * 2);
+                }
+                starts[size] = start;
+                lengths[size] = end - start;
+                size++;
+            }
+        }
+        return new LazyIssueList(json, Arrays.copyOf(starts, size), Arrays.copyOf(lengths, size));
+    }
+
+    @Override
+    public LazyIssue get(int index) {
+        LazyIssue view = views[index];
+        if (view == null) {
+            view = new LazyIssue(json, starts[index], lengths[index], strings);
+            views[index] = view;
+        }
+        return view;
+    }
+
+    @Override
+    public int size() {
+        return starts.length;
+    }
+}
@@ -0,0 +1,40 @@
+package com.sqa.model.github;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.gson.annotations.JsonAdapter;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+@JsonSerialize(using = IssueCodec.MilestoneSerializer.class)
+@JsonDeserialize(using = IssueCodec.MilestoneDeserializer.class)
+
+@Getter
+@Setter
+@Accessors(chain = true)
+public class Milestone {
+
+    private String url;
+    private String htmlUrl;
+    private String labelsUrl;
+    private long id;
+    private String nodeId;
+    private int number;
+    private String title;
+    private String description;
+    private GithubUser creator;
+    private int openIssues;
+    private int closedIssues;
+    private String state;
+    @JsonAdapter(GsonInstantAdapter.class)
+    private Instant createdAt;
+    @JsonAdapter(GsonInstantAdapter.class)
+    private Instant updatedAt;
+    @JsonAdapter(GsonInstantAdapter.class)
+    private Instant dueOn;
+    @JsonAdapter(GsonInstantAdapter.class)
+    private Instant closedAt;
+}
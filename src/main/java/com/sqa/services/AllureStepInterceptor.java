@@ -0,0 +1,227 @@
+package com.sqa.services;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.Step;
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.util.NamingUtils;
+import io.qameta.allure.util.PropertiesUtils;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+import retrofit2.Invocation;
+import retrofit2.http.Body;
+import retrofit2.http.Field;
+import retrofit2.http.Header;
+import retrofit2.http.Path;
+import retrofit2.http.Query;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports every call made from a test thread as an Allure step, with the request and response
+ * bodies as attachments. {@link ClientFactory} only adds it when {@code sqa.http.allureSteps} is
+ * set.
+ * <p>
+ * Step names and parameter names are resolved once per service method and cached, instead of
+ * going through the AspectJ agent and reflection on every call (the agent cannot weave the
+ * Retrofit proxies anyway, so {@link Step} on service interfaces is only read here). Bodies are
+ * written straight into the results directory: the request body is serialized to the attachment
+ * file and the response body is teed into it while the caller reads, so neither is held in
+ * memory as a string.
+ */
+public class AllureStepInterceptor implements Interceptor {
+
+    private static final String MASK = "****";
+
+    private final AllureLifecycle lifecycle;
+    private final java.nio.file.Path resultsDirectory;
+    private final Map<Method, StepTemplate> templates = new ConcurrentHashMap<>();
+    private volatile boolean directoryCreated;
+
+    public AllureStepInterceptor() {
+        this(Allure.getLifecycle(), Paths.get(PropertiesUtils.loadAllureProperties()
+                .getProperty("allure.results.directory", "allure-results")));
+    }
+
+    public AllureStepInterceptor(AllureLifecycle lifecycle, java.nio.file.Path resultsDirectory) {
+        this.lifecycle = lifecycle;
+        this.resultsDirectory = resultsDirectory;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (request.tag(ResilienceInterceptor.HedgeAttempt.class) != null
+                || !lifecycle.getCurrentTestCaseOrStep().isPresent()) {
+            return chain.proceed(request);
+        }
+
+        String uuid = UUID.randomUUID().toString();
+        lifecycle.startStep(uuid, newStep(request));
+        Response response;
+        try {
+            attachRequestBody(request);
+            response = chain.proceed(request);
+        } catch (IOException | RuntimeException e) {
+            lifecycle.updateStep(uuid, step -> step.setStatus(Status.BROKEN));
+            lifecycle.stopStep(uuid);
+            throw e;
+        }
+        int code = response.code();
+        lifecycle.updateStep(uuid, step -> step
+                .setStatus(Status.PASSED)
+                .getParameters().add(new Parameter().setName("status").setValue(String.valueOf(code))));
+        response = teeResponseBody(response);
+        lifecycle.stopStep(uuid);
+        return response;
+    }
+
+    private StepResult newStep(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation == null) {
+            return new StepResult().setName(request.method() + ' ' + request.url().encodedPath());
+        }
+        StepTemplate template = templates.computeIfAbsent(invocation.method(), StepTemplate::new);
+        return template.newStep(invocation.arguments());
+    }
+
+    private void attachRequestBody(Request request) throws IOException {
+        RequestBody body = request.body();
+        if (body == null || body.isOneShot() || body.isDuplex()) {
+            return;
+        }
+        try (BufferedSink file = Okio.buffer(Okio.sink(prepareAttachment("request", body.contentType())))) {
+            body.writeTo(file);
+        }
+    }
+
+    private Response teeResponseBody(Response response) throws IOException {
+        ResponseBody body = response.body();
+        if (body == null) {
+            return response;
+        }
+        BufferedSink file = Okio.buffer(Okio.sink(prepareAttachment("response", body.contentType())));
+        BufferedSource tee = Okio.buffer(new TeeSource(body.source(), file));
+        return response.newBuilder()
+                .body(ResponseBody.create(body.contentType(), body.contentLength(), tee))
+                .build();
+    }
+
+    private java.nio.file.Path prepareAttachment(String name, MediaType contentType) throws IOException {
+        String type = contentType == null ? "text/plain" : contentType.type() + '/' + contentType.subtype();
+        String extension = contentType != null && "json".equals(contentType.subtype()) ? ".json" : ".txt";
+        if (!directoryCreated) {
+            Files.createDirectories(resultsDirectory);
+            directoryCreated = true;
+        }
+        return resultsDirectory.resolve(lifecycle.prepareAttachment(name, type, extension));
+    }
+
+    /**
+     * Copies every segment the caller reads into the attachment file. {@link Buffer#copyTo}
+     * shares segments instead of copying bytes.
+     */
+    private static final class TeeSource extends ForwardingSource {
+        private final BufferedSink file;
+
+        TeeSource(BufferedSource delegate, BufferedSink file) {
+            super(delegate);
+            this.file = file;
+        }
+
+        @Override
+        public long read(Buffer sink, long byteCount) throws IOException {
+            long read = super.read(sink, byteCount);
+            if (read > 0) {
+                sink.copyTo(file.buffer(), sink.size() - read, read);
+                file.emitCompleteSegments();
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                file.close();
+            } finally {
+                super.close();
+            }
+        }
+    }
+
+    /**
+     * Step name and parameter names of one service method, read from its annotations once.
+     */
+    private static final class StepTemplate {
+        private final String name;
+        private final boolean templated;
+        private final String[] parameterNames;
+        private final boolean[] masked;
+
+        StepTemplate(Method method) {
+            Step step = method.getAnnotation(Step.class);
+            String value = step == null ? "" : step.value();
+            this.name = value.isEmpty() ? method.getName() : value;
+            this.templated = name.indexOf('{') >= 0;
+
+            Annotation[][] annotations = method.getParameterAnnotations();
+            this.parameterNames = new String[annotations.length];
+            this.masked = new boolean[annotations.length];
+            for (int i = 0; i < annotations.length; i++) {
+                parameterNames[i] = "arg" + i;
+                for (Annotation annotation : annotations[i]) {
+                    if (annotation instanceof Path) {
+                        parameterNames[i] = ((Path) annotation).value();
+                    } else if (annotation instanceof Query) {
+                        parameterNames[i] = ((Query) annotation).value();
+                    } else if (annotation instanceof Field) {
+                        parameterNames[i] = ((Field) annotation).value();
+                    } else if (annotation instanceof Header) {
+                        parameterNames[i] = ((Header) annotation).value();
+                        masked[i] = "Authorization".equalsIgnoreCase(parameterNames[i]);
+                    } else if (annotation instanceof Body) {
+                        parameterNames[i] = "body";
+                    }
+                }
+            }
+        }
+
+        StepResult newStep(List<?> arguments) {
+            List<Parameter> parameters = new ArrayList<>(arguments.size() + 1);
+            Map<String, Object> values = templated ? new HashMap<>() : Collections.emptyMap();
+            for (int i = 0; i < arguments.size(); i++) {
+                Object argument = arguments.get(i);
+                String value = masked[i] ? MASK : String.valueOf(argument);
+                parameters.add(new Parameter().setName(parameterNames[i]).setValue(value));
+                if (templated) {
+                    values.put(parameterNames[i], masked[i] ? MASK : argument);
+                }
+            }
+            return new StepResult()
+                    .setName(templated ? NamingUtils.processNameTemplate(name, values) : name)
+                    .setParameters(parameters);
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package com.sqa.services;
+
+import com.sqa.model.github.Issue;
+import okhttp3.Headers;
+import retrofit2.Response;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Creates many issues through {@link GitHubAsyncService#postIssuePojo} with a bounded number of
+ * POSTs in flight.
+ * <p>
+ * Sends are paced by a {@link TokenBucket} that follows the server: once
+ * {@code X-RateLimit-Remaining} drops below a tenth of {@code X-RateLimit-Limit}, the remaining
+ * quota is spread over the time left until {@code X-RateLimit-Reset}, and a rate-limited
+ * response ({@code 403}/{@code 429} with {@code Retry-After} or an exhausted quota) pauses the
+ * bucket and retries the item. A call that failed before the request left, because the
+ * connection could not be made or the circuit breaker is open, is retried after a doubling
+ * backoff. Both kinds of retry share the item's {@code maxAttempts}. Any other I/O failure, such
+ * as a read timeout or a reset, is reported as failed: GitHub may already have created the issue,
+ * and like {@link ResilienceInterceptor} this never resends a POST that may have arrived.
+ * <p>
+ * The input stream is pulled only as permits free up, so at most {@code concurrency} issues are
+ * held at any time, and each outcome is passed to the callback as soon as it is known.
+ */
+public class BulkIssueCreator {
+
+    private static final long DEFAULT_RETRY_AFTER_SECONDS = 60;
+    private static final long DEFAULT_LOW_WATER_MARK = 100;
+    private static final long IO_RETRY_BACKOFF_MILLIS = 500;
+
+    private final GitHubAsyncService service;
+    private final String authToken;
+    private final String user;
+    private final int concurrency;
+    private final TokenBucket bucket;
+    private final int maxAttempts;
+
+    public BulkIssueCreator(GitHubAsyncService service, String authToken, String user,
+                            int concurrency, double requestsPerSecond) {
+        this(service, authToken, user, concurrency, new TokenBucket(requestsPerSecond, concurrency), 3);
+    }
+
+    public BulkIssueCreator(GitHubAsyncService service, String authToken, String user,
+                            int concurrency, TokenBucket bucket, int maxAttempts) {
+        this.service = service;
+        this.authToken = authToken;
+        this.user = user;
+        this.concurrency = concurrency;
+        this.bucket = bucket;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Posts every issue of {@code issues} and blocks until all of them are done. {@code onResult}
+     * is called once per issue, from HTTP threads but never concurrently. If this method throws,
+     * e.g. when interrupted, the calls still in flight are canceled and {@code onResult} is not
+     * called again.
+     */
+    public Summary create(Stream<Issue> issues, Consumer<Result> onResult) throws InterruptedException {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bulk-issue-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Run run = new Run(scheduler, onResult);
+        try {
+            Iterator<Issue> iterator = issues.iterator();
+            int index = 0;
+            while (iterator.hasNext()) {
+                run.inFlight.acquire();
+                run.schedule(new Item(index++, iterator.next()), bucket.reserve());
+            }
+            run.inFlight.acquire(concurrency);
+        } catch (InterruptedException | RuntimeException e) {
+            run.cancel();
+            throw e;
+        } finally {
+            scheduler.shutdownNow();
+        }
+        return new Summary(run.created.sum(), run.failed.sum(), run.retries.sum());
+    }
+
+    private final class Run {
+        private final Semaphore inFlight = new Semaphore(concurrency);
+        private final ScheduledExecutorService scheduler;
+        private final Consumer<Result> onResult;
+        private final LongAdder created = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final Set<CompletableFuture<?>> calls = ConcurrentHashMap.newKeySet();
+        private boolean canceled;
+
+        Run(ScheduledExecutorService scheduler, Consumer<Result> onResult) {
+            this.scheduler = scheduler;
+            this.onResult = onResult;
+        }
+
+        void schedule(Item item, long delayNanos) {
+            if (delayNanos <= 0) {
+                send(item);
+            } else {
+                scheduler.schedule(() -> send(item), delayNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void send(Item item) {
+            CompletableFuture<Response<Issue>> call;
+            synchronized (this) {
+                if (canceled) {
+                    return;
+                }
+                item.attempts++;
+                call = service.postIssuePojo("application/json", authToken, user, item.issue);
+                calls.add(call);
+            }
+            call.whenComplete((response, error) -> {
+                calls.remove(call);
+                if (isCanceled()) {
+                    return;
+                }
+                if (error != null) {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause()
+                            : error;
+                    if (neverSent(cause) && item.attempts < maxAttempts) {
+                        retries.increment();
+                        long backoffNanos = TimeUnit.MILLISECONDS.toNanos(
+                                IO_RETRY_BACKOFF_MILLIS << (item.attempts - 1));
+                        schedule(item, Math.max(backoffNanos, bucket.reserve()));
+                        return;
+                    }
+                    finish(new Result(item, 0, null, cause));
+                    return;
+                }
+                long now = System.nanoTime();
+                long retryAfterNanos = adapt(response.headers(), now);
+                if (isRateLimited(response) && item.attempts < maxAttempts) {
+                    retries.increment();
+                    bucket.pauseUntil(now + (retryAfterNanos > 0
+                            ? retryAfterNanos
+                            : TimeUnit.SECONDS.toNanos(DEFAULT_RETRY_AFTER_SECONDS)));
+                    schedule(item, bucket.reserve());
+                    return;
+                }
+                finish(new Result(item, response.code(), response.body(), null));
+            });
+        }
+
+        private void finish(Result result) {
+            (result.isCreated() ? created : failed).increment();
+            try {
+                synchronized (this) {
+                    if (!canceled) {
+                        onResult.accept(result);
+                    }
+                }
+            } finally {
+                inFlight.release();
+            }
+        }
+
+        private synchronized boolean isCanceled() {
+            return canceled;
+        }
+
+        /**
+         * Cancels the calls in flight. Once this returns, {@code onResult} is neither running nor
+         * called again: it only runs under the same lock, after checking the flag.
+         */
+        void cancel() {
+            synchronized (this) {
+                canceled = true;
+            }
+            for (CompletableFuture<?> call : calls) {
+                call.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Feeds the rate-limit headers into the bucket.
+     *
+     * @return how long the server asked to wait before the next request, or {@code 0}
+     */
+    private long adapt(Headers headers, long now) {
+        long retryAfter = parseLong(headers.get("Retry-After"));
+        long remaining = parseLong(headers.get("X-RateLimit-Remaining"));
+        long reset = parseLong(headers.get("X-RateLimit-Reset"));
+        long untilResetNanos = reset > 0
+                ? TimeUnit.SECONDS.toNanos(reset) - TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis())
+                : -1;
+
+        if (retryAfter > 0) {
+            return TimeUnit.SECONDS.toNanos(retryAfter);
+        }
+        if (remaining == 0 && untilResetNanos > 0) {
+            bucket.pauseUntil(now + untilResetNanos);
+            return untilResetNanos;
+        }
+        if (remaining > 0 && untilResetNanos > 0) {
+            long limit = parseLong(headers.get("X-RateLimit-Limit"));
+            long lowWaterMark = limit > 0 ? limit / 10 : DEFAULT_LOW_WATER_MARK;
+            bucket.spread(remaining <= lowWaterMark ? remaining : Long.MAX_VALUE, untilResetNanos);
+        }
+        return 0;
+    }
+
+    /** Whether the request provably did not reach the server, so sending it again cannot duplicate it. */
+    private static boolean neverSent(Throwable error) {
+        return error instanceof ConnectException
+                || error instanceof NoRouteToHostException
+                || error instanceof UnknownHostException
+                || error instanceof CircuitBreaker.OpenException;
+    }
+
+    private static boolean isRateLimited(Response<?> response) {
+        int code = response.code();
+        Headers headers = response.headers();
+        return (code == 403 || code == 429)
+                && (headers.get("Retry-After") != null || "0".equals(headers.get("X-RateLimit-Remaining")));
+    }
+
+    private static long parseLong(String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static final class Item {
+        private final int index;
+        private final Issue issue;
+        private int attempts;
+
+        Item(int index, Issue issue) {
+            this.index = index;
+            this.issue = issue;
+        }
+    }
+
+    public static final class Result {
+        private final int index;
+        private final Issue request;
+        private final int attempts;
+        private final int code;
+        private final Issue created;
+        private final Throwable error;
+
+        private Result(Item item, int code, Issue created, Throwable error) {
+            this.index = item.index;
+            this.request = item.issue;
+            this.attempts = item.attempts;
+            this.code = code;
+            this.created = created;
+            this.error = error;
+        }
+
+        /** Position of the issue in the input stream. */
+        public int index() {
+            return index;
+        }
+
+        public Issue request() {
+            return request;
+        }
+
+        public int attempts() {
+            return attempts;
+        }
+
+        /** HTTP status, or {@code 0} when the call failed without a response. */
+        public int code() {
+            return code;
+        }
+
+        /** The issue returned by the server, {@code null} unless {@link #isCreated()}. */
+        public Issue created() {
+            return created;
+        }
+
+        public Throwable error() {
+            return error;
+        }
+
+        public boolean isCreated() {
+            return code == 201;
+        }
+    }
+
+    public static final class Summary {
+        private final long created;
+        private final long failed;
+        private final long retries;
+
+        private Summary(long created, long failed, long retries) {
+            this.created = created;
+            this.failed = failed;
+            this.retries = retries;
+        }
+
+        public long created() {
+            return created;
+        }
+
+        public long failed() {
+            return failed;
+        }
+
+        /** Attempts that were sent again after a rate limit or a failure to connect. */
+        public long retries() {
+            return retries;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("created=%d failed=%d retries=%d", created, failed, retries);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.sqa.services;
+
+import com.sqa.utils.AsyncTestLogger;
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import retrofit2.Retrofit;
+import retrofit2.converter.scalars.ScalarsConverterFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hands out one shared {@link OkHttpClient} per JVM together with cached {@link Retrofit}
+ * instances and service proxies per base URL, so that connections, the dispatcher thread pool
+ * and parsed service methods are reused across tests.
+ */
+public final class ClientFactory {
+
+    private static final Map<String, Retrofit> RETROFITS = new ConcurrentHashMap<>();
+    private static final Map<String, Object> SERVICES = new ConcurrentHashMap<>();
+
+    private static ClientSettings settings = ClientSettings.fromSystemProperties();
+    private static OkHttpClient client;
+    private static ConditionalCacheInterceptor conditionalCache;
+    private static CoalescingInterceptor coalescing;
+    private static ResilienceInterceptor resilience;
+    private static TrafficCapture trafficCapture;
+
+    private ClientFactory() {
+    }
+
+    /**
+     * Replaces the settings and drops every cached client, Retrofit and service instance.
+     */
+    public static synchronized void configure(ClientSettings newSettings) {
+        settings = newSettings;
+        if (client != null) {
+            client.dispatcher().executorService().shutdown();
+            client.connectionPool().evictAll();
+            client = null;
+            conditionalCache = null;
+            coalescing = null;
+            resilience = null;
+        }
+        if (trafficCapture != null) {
+            try {
+                trafficCapture.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            trafficCapture = null;
+        }
+        RETROFITS.clear();
+        SERVICES.clear();
+    }
+
+    public static synchronized ClientSettings settings() {
+        return settings;
+    }
+
+    public static synchronized OkHttpClient client() {
+        if (client == null) {
+            client = newClient(settings);
+        }
+        return client;
+    }
+
+    /**
+     * @return the in-memory conditional cache of the shared client, or {@code null} when disabled
+     */
+    public static synchronized ConditionalCacheInterceptor conditionalCache() {
+        client();
+        return conditionalCache;
+    }
+
+    /**
+     * @return the in-flight request coalescing of the shared client, or {@code null} when disabled
+     */
+    public static synchronized CoalescingInterceptor coalescing() {
+        client();
+        return coalescing;
+    }
+
+    /**
+     * @return the retry, hedging and circuit breaker interceptor of the shared client
+     */
+    public static synchronized ResilienceInterceptor resilience() {
+        client();
+        return resilience;
+    }
+
+    public static Retrofit retrofit(String baseUrl) {
+        return RETROFITS.computeIfAbsent(baseUrl, ClientFactory::newRetrofit);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T service(String baseUrl, Class<T> serviceType) {
+        return (T) SERVICES.computeIfAbsent(
+                baseUrl + '#' + serviceType.getName(),
+                key -> retrofit(baseUrl).create(serviceType));
+    }
+
+    private static OkHttpClient newClient(ClientSettings settings) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(settings.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(settings.getMaxRequestsPerHost());
+
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(
+                        settings.getMaxIdleConnections(), settings.getKeepAliveSeconds(), TimeUnit.SECONDS))
+                .dispatcher(dispatcher)
+                .protocols(settings.isHttp2()
+                        ? Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1)
+                        : Collections.singletonList(Protocol.HTTP_1_1))
+                .connectTimeout(settings.getConnectTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .readTimeout(settings.getReadTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .writeTimeout(settings.getWriteTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .callTimeout(settings.getCallTimeoutMillis(), TimeUnit.MILLISECONDS);
+
+        if (settings.isWarmUp()) {
+            builder.addInterceptor(Startup.firstResponseReport(AsyncTestLogger.shared()));
+        }
+        if (settings.isAllureSteps()) {
+            builder.addInterceptor(new AllureStepInterceptor());
+        }
+        if (settings.isCoalesceInFlight()) {
+            coalescing = new CoalescingInterceptor();
+            coalescing.reportOnShutdown(AsyncTestLogger.shared());
+            builder.addInterceptor(coalescing);
+        }
+        if (settings.getTrafficMode() != TrafficCapture.Mode.OFF) {
+            // ahead of resilience: a replay miss is final, not a retried breaker failure
+            trafficCapture = openTrafficCapture(settings);
+            builder.addInterceptor(new TrafficCaptureInterceptor(trafficCapture, settings.getTrafficMode()));
+        }
+        AtomicReference<OkHttpClient> self = new AtomicReference<>();
+        resilience = new ResilienceInterceptor(self::get,
+                settings.getRetries(), settings.getRetryBackoffMillis(),
+                settings.getBreakerFailureThreshold(), settings.getBreakerOpenMillis());
+        builder.addInterceptor(resilience);
+        if (settings.getConditionalCacheEntries() > 0) {
+            conditionalCache = new ConditionalCacheInterceptor(settings.getConditionalCacheEntries());
+            builder.addInterceptor(conditionalCache);
+        }
+        if (settings.isMetrics()) {
+            HttpMetrics.shared().exportOnShutdown(Paths.get(settings.getMetricsFile()));
+            builder.eventListenerFactory(MetricsEventListener.factory(HttpMetrics.shared()));
+        }
+        if (settings.getCacheDirectory() != null) {
+            builder.cache(new Cache(new File(settings.getCacheDirectory()), settings.getCacheMaxBytes()));
+        }
+        self.set(builder.build());
+        return self.get();
+    }
+
+    private static TrafficCapture openTrafficCapture(ClientSettings settings) {
+        Path file = Paths.get(settings.getTrafficFile());
+        try {
+            return settings.getTrafficMode() == TrafficCapture.Mode.RECORD
+                    ? TrafficCapture.forRecording(file)
+                    : TrafficCapture.forReplay(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open traffic capture " + file, e);
+        }
+    }
+
+    private static Retrofit newRetrofit(String baseUrl) {
+        return newRetrofit(baseUrl, client());
+    }
+
+    /**
+     * A Retrofit over {@code client} with the suite's converters, not cached in {@link #retrofit}.
+     */
+    static Retrofit newRetrofit(String baseUrl, OkHttpClient client) {
+        return new Retrofit.Builder()
+                .baseUrl(baseUrl)
+                .client(client)
+                .validateEagerly(settings().isValidateEagerly())
+                .addConverterFactory(ScalarsConverterFactory.create())
+                .addConverterFactory(JacksonConverterFactory.create())
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.sqa.services;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+/**
+ * Tuning knobs for the shared {@link okhttp3.OkHttpClient} built by {@link ClientFactory}.
+ * Defaults can be overridden with {@code -Dsqa.http.<name>=<value>} system properties.
+ */
+@Getter
+@Setter
+@Accessors(chain = true)
+public class ClientSettings {
+
+    private static final String PREFIX = "sqa.http.";
+
+    private int maxIdleConnections = 16;
+    private long keepAliveSeconds = 300;
+    private int maxRequests = 64;
+    private int maxRequestsPerHost = 16;
+    private boolean http2 = true;
+    private long connectTimeoutMillis = 10_000;
+    private long readTimeoutMillis = 10_000;
+    private long writeTimeoutMillis = 10_000;
+    private long callTimeoutMillis = 0;
+    /** Directory of the OkHttp disk cache; {@code null} disables it. */
+    private String cacheDirectory;
+    private long cacheMaxBytes = 50L * 1024 * 1024;
+    /** Capacity of the in-memory {@link ConditionalCacheInterceptor}; {@code 0} disables it. */
+    private int conditionalCacheEntries = 0;
+    /** Lets identical GETs that overlap share one call, see {@link CoalescingInterceptor}. */
+    private boolean coalesceInFlight = false;
+    /** Records traffic into, or replays it from, {@link #trafficFile}; {@link TrafficCapture} lists what replays. */
+    private TrafficCapture.Mode trafficMode = TrafficCapture.Mode.OFF;
+    private String trafficFile = "target/traffic.capture";
+    /** Retries of idempotent calls, see {@link ResilienceInterceptor}; {@code 0} disables them. */
+    private int retries = 2;
+    private long retryBackoffMillis = 200;
+    /** Consecutive failures that open a host's circuit breaker; {@code 0} disables it. */
+    private int breakerFailureThreshold = 5;
+    private long breakerOpenMillis = 30_000;
+    /**
+     * Reports calls made from test threads as Allure steps, see {@link AllureStepInterceptor}. Off by
+     * default: allure-junit5 makes every test an Allure test case, so unit tests would write an
+     * attachment per call too. Turn it on for the runs whose report is read.
+     */
+    private boolean allureSteps = false;
+    /** Collects per-endpoint timings into {@link HttpMetrics#shared()}. */
+    private boolean metrics = false;
+    private String metricsFile = "target/http-metrics.json";
+    /** Parses every service method when its proxy is created instead of on the method's first call. */
+    private boolean validateEagerly = false;
+    /**
+     * Runs {@link Startup#warmUp} in the background as soon as the suite starts, and logs the time
+     * to the first response.
+     */
+    private boolean warmUp = false;
+
+    public static ClientSettings fromSystemProperties() {
+        ClientSettings defaults = new ClientSettings();
+        return new ClientSettings()
+                .setMaxIdleConnections(Integer.getInteger(PREFIX + "maxIdleConnections", defaults.maxIdleConnections))
+                .setKeepAliveSeconds(Long.getLong(PREFIX + "keepAliveSeconds", defaults.keepAliveSeconds))
+                .setMaxRequests(Integer.getInteger(PREFIX + "maxRequests", defaults.maxRequests))
+                .setMaxRequestsPerHost(Integer.getInteger(PREFIX + "maxRequestsPerHost", defaults.maxRequestsPerHost))
+                .setHttp2(Boolean.parseBoolean(System.getProperty(PREFIX + "http2", String.valueOf(defaults.http2))))
+                .setConnectTimeoutMillis(Long.getLong(PREFIX + "connectTimeoutMillis", defaults.connectTimeoutMillis))
+                .setReadTimeoutMillis(Long.getLong(PREFIX + "readTimeoutMillis", defaults.readTimeoutMillis))
+                .setWriteTimeoutMillis(Long.getLong(PREFIX + "writeTimeoutMillis", defaults.writeTimeoutMillis))
+                .setCallTimeoutMillis(Long.getLong(PREFIX + "callTimeoutMillis", defaults.callTimeoutMillis))
+                .setCacheDirectory(System.getProperty(PREFIX + "cacheDirectory", defaults.cacheDirectory))
+                .setCacheMaxBytes(Long.getLong(PREFIX + "cacheMaxBytes", defaults.cacheMaxBytes))
+                .setConditionalCacheEntries(
+                        Integer.getInteger(PREFIX + "conditionalCacheEntries", defaults.conditionalCacheEntries))
+                .setCoalesceInFlight(Boolean.parseBoolean(
+                        System.getProperty(PREFIX + "coalesceInFlight", String.valueOf(defaults.coalesceInFlight))))
+                .setTrafficMode(TrafficCapture.Mode.valueOf(
+                        System.getProperty(PREFIX + "trafficMode", defaults.trafficMode.name()).toUpperCase()))
+                .setTrafficFile(System.getProperty(PREFIX + "trafficFile", defaults.trafficFile))
+                .setRetries(Integer.getInteger(PREFIX + "retries", defaults.retries))
+                .setRetryBackoffMillis(Long.getLong(PREFIX + "retryBackoffMillis", defaults.retryBackoffMillis))
+                .setBreakerFailureThreshold(
+                        Integer.getInteger(PREFIX + "breakerFailureThreshold", defaults.breakerFailureThreshold))
+                .setBreakerOpenMillis(Long.getLong(PREFIX + "breakerOpenMillis", defaults.breakerOpenMillis))
+                .setAllureSteps(Boolean.parseBoolean(
+                        System.getProperty(PREFIX + "allureSteps", String.valueOf(defaults.allureSteps))))
+                .setMetrics(Boolean.parseBoolean(System.getProperty(PREFIX + "metrics", String.valueOf(defaults.metrics))))
+                .setMetricsFile(System.getProperty(PREFIX + "metricsFile", defaults.metricsFile))
+                .setValidateEagerly(Boolean.parseBoolean(
+                        System.getProperty(PREFIX + "validateEagerly", String.valueOf(defaults.validateEagerly))))
+                .setWarmUp(Boolean.parseBoolean(System.getProperty(PREFIX + "warmUp", String.valueOf(defaults.warmUp))));
+    }
+}
@@ -0,0 +1,277 @@
+package com.sqa.services;
+
+import com.sqa.utils.TestLogger;
+import okhttp3.Handshake;
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import retrofit2.Invocation;
+import retrofit2.http.Streaming;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single-flight for identical GET and HEAD requests: while one call is on the wire, every call with
+ * the same method, URL, {@code Authorization} and {@code Accept} waits for it instead of sending its
+ * own request, and gets the same answer.
+ * <p>
+ * When the first call's response arrives and nobody is waiting for it, it is returned untouched,
+ * still streaming. Only when others joined is the body read into memory; each caller then gets its
+ * own {@link ResponseBody} over those bytes, so any number of them can read or close it
+ * independently. A body larger than {@value #MAX_SHARED_BYTES} bytes is streamed to the first caller
+ * only, and the ones waiting for it send their own requests. If the first call fails, the waiting
+ * ones fail with the same cause. A waiting call still ends with its own call timeout, or its read
+ * timeout when it has none, and when it is cancelled. Only calls that overlap are coalesced;
+ * nothing is kept once a response is out.
+ * <p>
+ * Hedged attempts of {@link ResilienceInterceptor} pass through untouched: they are identical to
+ * the call that started them, which is itself waiting for them. So do {@link Streaming} service
+ * methods such as {@link GitHubService#getUsersIssuesPage}, whose bodies are meant to be read as
+ * they arrive.
+ */
+public class CoalescingInterceptor implements Interceptor {
+
+    static final int MAX_SHARED_BYTES = 1024 * 1024;
+    private static final long CANCEL_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private final Map<String, Flight> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final AtomicBoolean reportScheduled = new AtomicBoolean();
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!"GET".equals(request.method()) && !"HEAD".equals(request.method())
+                || request.tag(ResilienceInterceptor.HedgeAttempt.class) != null
+                || isStreaming(request)) {
+            return chain.proceed(request);
+        }
+
+        String key = request.method() + ' ' + request.url()
+                + '\n' + request.header("Authorization") + '\n' + request.header("Accept");
+        Flight flight = new Flight();
+        Flight leader = inFlight.putIfAbsent(key, flight);
+        // counted once the call has led or joined a flight, so a caller that sees every call
+        // counted knows none of them can still miss the shared response
+        boolean joined = leader != null && leader.join();
+        requests.increment();
+        if (leader != null) {
+            if (!joined) {
+                // the first call just got its answer and is not sharing it
+                return chain.proceed(request);
+            }
+            SharedResponse shared = await(leader.result, chain);
+            if (shared == null) {
+                return chain.proceed(request);
+            }
+            coalesced.increment();
+            return shared.toResponse(request);
+        }
+
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException | RuntimeException | Error e) {
+            inFlight.remove(key, flight);
+            flight.close();
+            flight.result.completeExceptionally(e);
+            throw e;
+        }
+        inFlight.remove(key, flight);
+        if (flight.close() == 0) {
+            flight.result.complete(null);
+            return response;
+        }
+        SharedResponse shared;
+        try {
+            shared = SharedResponse.read(response);
+        } catch (IOException | RuntimeException | Error e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        }
+        flight.result.complete(shared);
+        return shared == null ? response : shared.toResponse(request);
+    }
+
+    /** GET and HEAD requests seen, coalesced or not. */
+    public long requestCount() {
+        return requests.sum();
+    }
+
+    /** Requests answered with the response of an identical call that was already in flight. */
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    /** Share of GET and HEAD requests that never went to the wire, {@code 0} before the first. */
+    public double coalesceRatio() {
+        long total = requestCount();
+        return total == 0 ? 0 : (double) coalescedCount() / total;
+    }
+
+    /**
+     * Logs the coalesce ratio when the JVM exits, i.e. after the last test of the surefire run.
+     * Only the first call has an effect.
+     */
+    public void reportOnShutdown(TestLogger logger) {
+        if (!reportScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (requestCount() > 0) {
+                logger.log("%s", toString());
+            }
+        }, "coalescing-report"));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Coalesced %d of %d GET/HEAD requests (%.1f%%)",
+                coalescedCount(), requestCount(), coalesceRatio() * 100);
+    }
+
+    /** Whether the call is a Retrofit {@link Streaming} method, whose body must not be buffered. */
+    static boolean isStreaming(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        return invocation != null && invocation.method().isAnnotationPresent(Streaming.class);
+    }
+
+    /**
+     * Waits for the first call in short slices, so that the wait ends once this call is cancelled,
+     * and at most for this call's timeout, or its read timeout when it has no call timeout.
+     */
+    private static SharedResponse await(CompletableFuture<SharedResponse> leader, Chain chain) throws IOException {
+        Request request = chain.request();
+        long timeoutNanos = chain.call().timeout().timeoutNanos();
+        if (timeoutNanos == 0) {
+            timeoutNanos = TimeUnit.MILLISECONDS.toNanos(chain.readTimeoutMillis());
+        }
+        long deadline = System.nanoTime() + timeoutNanos;
+        while (true) {
+            if (chain.call().isCanceled()) {
+                throw new IOException("Canceled");
+            }
+            long slice = CANCEL_POLL_NANOS;
+            if (timeoutNanos > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new InterruptedIOException("timeout");
+                }
+                slice = Math.min(slice, remaining);
+            }
+            try {
+                return leader.get(slice, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // check for cancellation and the deadline again
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for " + request.url());
+            } catch (ExecutionException e) {
+                throw new IOException("Coalesced call to " + request.url() + " failed", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * One call on the wire and the calls that joined it. Once the first call has its response the
+     * flight is closed: later callers send their own requests instead of joining.
+     */
+    private static final class Flight {
+        private final CompletableFuture<SharedResponse> result = new CompletableFuture<>();
+        private int followers;
+        private boolean closed;
+
+        synchronized boolean join() {
+            if (closed) {
+                return false;
+            }
+            followers++;
+            return true;
+        }
+
+        /** Closes the flight and returns how many calls joined it. */
+        synchronized int close() {
+            closed = true;
+            return followers;
+        }
+    }
+
+    private static final class SharedResponse {
+        private final Protocol protocol;
+        private final int code;
+        private final String message;
+        private final Headers headers;
+        private final Handshake handshake;
+        private final long sentRequestAtMillis;
+        private final long receivedResponseAtMillis;
+        private final MediaType contentType;
+        private final byte[] body;
+
+        private SharedResponse(Response response, MediaType contentType, byte[] body) {
+            this.protocol = response.protocol();
+            this.code = response.code();
+            this.message = response.message();
+            this.headers = response.headers();
+            this.handshake = response.handshake();
+            this.sentRequestAtMillis = response.sentRequestAtMillis();
+            this.receivedResponseAtMillis = response.receivedResponseAtMillis();
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        /**
+         * Reads and closes the body, or returns {@code null} and leaves the response untouched when
+         * the body is too large to hold in memory. The response is closed if reading fails.
+         */
+        static SharedResponse read(Response response) throws IOException {
+            ResponseBody body = response.body();
+            if (body == null) {
+                return new SharedResponse(response, null, new byte[0]);
+            }
+            if (body.contentLength() > MAX_SHARED_BYTES) {
+                return null;
+            }
+            try {
+                BufferedSource source = body.source();
+                if (source.request(MAX_SHARED_BYTES + 1L)) {
+                    return null;
+                }
+                SharedResponse shared = new SharedResponse(response, body.contentType(), source.readByteArray());
+                response.close();
+                return shared;
+            } catch (IOException | RuntimeException | Error e) {
+                response.close();
+                throw e;
+            }
+        }
+
+        Response toResponse(Request request) {
+            return new Response.Builder()
+                    .request(request)
+                    .protocol(protocol)
+                    .code(code)
+                    .message(message)
+                    .headers(headers)
+                    .handshake(handshake)
+                    .sentRequestAtMillis(sentRequestAtMillis)
+                    .receivedResponseAtMillis(receivedResponseAtMillis)
+                    .body(ResponseBody.create(contentType, body))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.sqa.services;
+
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import retrofit2.http.Streaming;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory LRU of GET responses keyed by URL, {@code Authorization} and {@code Accept}, the request
+ * headers GitHub's responses vary on. Cached entries are revalidated with
+ * {@code If-None-Match}/{@code If-Modified-Since}; a {@code 304} is answered from memory, which
+ * GitHub does not count against the rate limit.
+ * <p>
+ * At most {@value #MAX_ENTRY_BYTES} bytes of a body are read ahead, whether or not it declares a
+ * length: as an application interceptor this sees GitHub's gzipped responses after OkHttp has
+ * unzipped them and dropped {@code Content-Length}. A larger body is passed on untouched, still
+ * streaming, and not cached. {@link Streaming} service methods such as
+ * {@link GitHubService#getUsersIssuesPage} are not cached at all.
+ */
+public class ConditionalCacheInterceptor implements Interceptor {
+
+    static final int MAX_ENTRY_BYTES = 1024 * 1024;
+
+    private final Map<String, Entry> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ConditionalCacheInterceptor(int maxEntries) {
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!"GET".equals(request.method())
+                || CoalescingInterceptor.isStreaming(request)
+                || request.header("If-None-Match") != null
+                || request.header("If-Modified-Since") != null) {
+            return chain.proceed(request);
+        }
+
+        String key = request.url() + "\n" + request.header("Authorization") + "\n" + request.header("Accept");
+        Entry cached = get(key);
+        Request.Builder conditional = request.newBuilder();
+        if (cached != null) {
+            if (cached.etag != null) {
+                conditional.header("If-None-Match", cached.etag);
+            }
+            if (cached.lastModified != null) {
+                conditional.header("If-Modified-Since", cached.lastModified);
+            }
+        }
+
+        Response response = chain.proceed(conditional.build());
+        if (cached != null && response.code() == 304) {
+            hits.increment();
+            response.close();
+            return cached.toResponse(request, response);
+        }
+        misses.increment();
+
+        String etag = response.header("ETag");
+        String lastModified = response.header("Last-Modified");
+        ResponseBody body = response.body();
+        if (response.code() != 200 || (etag == null && lastModified == null) || body == null
+                || body.contentLength() > MAX_ENTRY_BYTES) {
+            return response;
+        }
+
+        BufferedSource source = body.source();
+        try {
+            if (source.request(MAX_ENTRY_BYTES + 1L)) {
+                return response;
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            response.close();
+            throw e;
+        }
+        MediaType contentType = body.contentType();
+        byte[] bytes = source.readByteArray();
+        response.close();
+        put(key, new Entry(etag, lastModified, response.message(), response.headers(), contentType, bytes));
+        return response.newBuilder()
+                .body(ResponseBody.create(contentType, bytes))
+                .build();
+    }
+
+    /** Requests answered from memory after a {@code 304}. */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /** Cacheable GETs that needed a full response. */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    private synchronized void put(String key, Entry entry) {
+        entries.put(key, entry);
+    }
+
+    private static final class Entry {
+        private final String etag;
+        private final String lastModified;
+        private final String message;
+        private final Headers headers;
+        private final MediaType contentType;
+        private final byte[] body;
+
+        private Entry(String etag, String lastModified, String message, Headers headers,
+                      MediaType contentType, byte[] body) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.message = message;
+            this.headers = headers;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        private Response toResponse(Request request, Response notModified) {
+            return new Response.Builder()
+                    .request(request)
+                    .protocol(notModified.protocol() == null ? Protocol.HTTP_1_1 : notModified.protocol())
+                    .code(200)
+                    .message(message)
+                    .headers(headers)
+                    .sentRequestAtMillis(notModified.sentRequestAtMillis())
+                    .receivedResponseAtMillis(notModified.receivedResponseAtMillis())
+                    .body(ResponseBody.create(contentType, body))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.sqa.services;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Fan-out/fan-in over {@link GitHubAsyncService}-style calls: start many at once, wait for all.
+ * The wall time of a batch is close to its slowest call instead of the sum of all of them.
+ */
+public final class FanOut {
+
+    private FanOut() {
+    }
+
+    /**
+     * Calls {@code call} for every input with at most {@code maxConcurrency} calls in flight and
+     * collects the results in input order. The first failure fails the returned future, stops
+     * starting new calls and cancels the ones still running.
+     */
+    public static <T, R> CompletableFuture<List<R>> all(
+            List<T> inputs, int maxConcurrency, Function<? super T, CompletableFuture<R>> call) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+        }
+        return new Batch<>(inputs, call, Math.min(maxConcurrency, inputs.size())).start();
+    }
+
+    /**
+     * Blocks for the result, rethrowing an {@link IOException} cause as is so that tests can
+     * keep their {@code throws IOException} signatures.
+     */
+    public static <R> R await(CompletableFuture<R> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new CompletionException(cause);
+        }
+    }
+
+    /**
+     * One {@link #all} call. Only the futures still running are kept, so memory beyond the results
+     * grows with the concurrency, not with the number of inputs. Slots are refilled by a loop in
+     * {@link #fill()}: a call that completes synchronously, while that loop is starting it, only
+     * frees its slot and leaves the refill to the loop instead of recursing into it.
+     */
+    private static final class Batch<T, R> {
+        private final Iterator<T> inputs;
+        private final Function<? super T, CompletableFuture<R>> call;
+        private final int concurrency;
+        private final AtomicReferenceArray<R> results;
+        private final Set<CompletableFuture<R>> running = new HashSet<>();
+        private final AtomicInteger remaining;
+        private final CompletableFuture<List<R>> result = new CompletableFuture<>();
+        private int next;
+        private int inFlight;
+        private boolean filling;
+
+        Batch(List<T> inputs, Function<? super T, CompletableFuture<R>> call, int concurrency) {
+            this.inputs = inputs.iterator();
+            this.call = call;
+            this.concurrency = concurrency;
+            this.results = new AtomicReferenceArray<>(inputs.size());
+            this.remaining = new AtomicInteger(inputs.size());
+        }
+
+        CompletableFuture<List<R>> start() {
+            if (remaining.get() == 0) {
+                result.complete(new ArrayList<>());
+            }
+            fill();
+            return result;
+        }
+
+        /** Starts calls until every slot is taken, unless another thread is already doing so. */
+        private void fill() {
+            synchronized (this) {
+                if (filling) {
+                    return;
+                }
+                filling = true;
+            }
+            while (true) {
+                int index;
+                T input;
+                synchronized (this) {
+                    if (result.isDone() || !inputs.hasNext() || inFlight == concurrency) {
+                        filling = false;
+                        return;
+                    }
+                    index = next++;
+                    input = inputs.next();
+                    inFlight++;
+                }
+                start(index, input);
+            }
+        }
+
+        private void start(int index, T input) {
+            CompletableFuture<R> future;
+            try {
+                future = call.apply(input);
+            } catch (RuntimeException e) {
+                fail(e);
+                return;
+            }
+            boolean failed;
+            synchronized (this) {
+                failed = result.isDone();
+                if (!failed) {
+                    running.add(future);
+                }
+            }
+            if (failed) {
+                future.cancel(true);
+                return;
+            }
+            future.whenComplete((value, failure) -> {
+                synchronized (Batch.this) {
+                    running.remove(future);
+                    inFlight--;
+                }
+                if (failure != null) {
+                    fail(failure);
+                    return;
+                }
+                results.set(index, value);
+                if (remaining.decrementAndGet() == 0) {
+                    List<R> values = new ArrayList<>(results.length());
+                    for (int i = 0; i < results.length(); i++) {
+                        values.add(results.get(i));
+                    }
+                    result.complete(values);
+                } else {
+                    fill();
+                }
+            });
+        }
+
+        private void fail(Throwable failure) {
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause()
+                    : failure;
+            if (!result.completeExceptionally(cause)) {
+                return;
+            }
+            List<CompletableFuture<R>> toCancel;
+            synchronized (this) {
+                toCancel = new ArrayList<>(running);
+            }
+            for (CompletableFuture<R> future : toCancel) {
+                future.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.sqa.services;
+
+import com.sqa.model.github.Issue;
+import io.qameta.allure.Step;
+import retrofit2.Response;
+import retrofit2.http.Body;
+import retrofit2.http.GET;
+import retrofit2.http.Header;
+import retrofit2.http.POST;
+import retrofit2.http.Path;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.sqa.services.GitHubService.ISSUES_ENDPOINT_PATH;
+
+/**
+ * Non-blocking counterpart of {@link GitHubService} for independent calls that can run at the
+ * same time, see {@link FanOut}. Futures of a body type fail with {@link retrofit2.HttpException}
+ * on a non-2xx status; {@link Response} futures complete for any status. Cancelling a future
+ * cancels its call.
+ */
+public interface GitHubAsyncService {
+
+    @Step
+    @GET("zen")
+    CompletableFuture<String> getZen();
+
+    @Step
+    @GET("users/defunkt")
+    CompletableFuture<String> getDefunkt();
+
+    @Step
+    @GET(ISSUES_ENDPOINT_PATH)
+    CompletableFuture<Response<String>> getIssuesNoAuth(@Path("user") String user);
+
+    @Step
+    @GET(ISSUES_ENDPOINT_PATH)
+    CompletableFuture<List<Issue>> getUsersIssues(
+            @Header("Authorization") String authToken,
+            @Path("user") String user
+    );
+
+    @Step
+    @POST(ISSUES_ENDPOINT_PATH)
+    CompletableFuture<Response<Issue>> postIssuePojo(
+            @Header("Accept") String acceptHeader,
+            @Header("Authorization") String authToken,
+            @Path("user") String user,
+            @Body Issue body
+    );
+}
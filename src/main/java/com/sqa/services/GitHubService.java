@@ -1,7 +1,10 @@
 package com.sqa.services;
 
 import com.sqa.model.github.Issue;
+import com.sqa.model.github.LazyIssueList;
+import com.sqa.utils.JsonTemplate;
 import io.qameta.allure.Step;
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.*;
 
@@ -12,11 +15,18 @@ public interface GitHubService {
 
     String ISSUES_ENDPOINT_PATH = "repos/{user}/rest/issues";
 
+    /**
+     * Body of a new issue, bound as {@code NEW_ISSUE.bind(title, body)} for {@link #postIssueTemplate}.
+     */
+    JsonTemplate NEW_ISSUE = JsonTemplate.compile("{\"title\": ?, \"body\": ?}");
+
     @Step
+    @Resilience(hedge = true)
     @GET("zen")
     Call<String> getZen();
 
     @Step
+    @Resilience(hedge = true)
     @GET("users/defunkt")
     Call<String> getDefunkt();
 
@@ -31,6 +41,16 @@ public interface GitHubService {
             @Path("user") String user
     );
 
+    /**
+     * Same as {@link #getUsersIssues} but decoded on access, for large lists.
+     */
+    @Step
+    @GET(ISSUES_ENDPOINT_PATH)
+    Call<LazyIssueList> getUsersIssuesLazy(
+            @Header("Authorization") String authToken,
+            @Path("user") String user
+    );
+
     @Step
     @GET(ISSUES_ENDPOINT_PATH)
     Call<List<Issue>> getUsersIssuesWithAcceptHeader(
@@ -39,6 +59,29 @@ public interface GitHubService {
             @Path("user") String user
     );
 
+    /**
+     * First page of issues as a raw stream, see {@link IssuePager}.
+     */
+    @Step
+    @Streaming
+    @GET(ISSUES_ENDPOINT_PATH)
+    Call<ResponseBody> getUsersIssuesPage(
+            @Header("Authorization") String authToken,
+            @Path("user") String user,
+            @QueryMap Map<String, String> query
+    );
+
+    /**
+     * Follow-up page addressed by an absolute {@code Link: rel="next"} URL.
+     */
+    @Step
+    @Streaming
+    @GET
+    Call<ResponseBody> getPage(
+            @Header("Authorization") String authToken,
+            @Url String pageUrl
+    );
+
     @Step
     @POST("repos/{user}/rest/issues")
     Call<Issue> postIssuePojo(
@@ -48,6 +91,19 @@ public interface GitHubService {
             @Body Issue body
     );
 
+    /**
+     * Same as {@link #postIssuePojo} with a body pre-rendered from a {@link JsonTemplate}, which
+     * Retrofit sends as is.
+     */
+    @Step
+    @POST("repos/{user}/rest/issues")
+    Call<Issue> postIssueTemplate(
+            @Header("Accept") String acceptHeader,
+            @Header("Authorization") String authToken,
+            @Path("user") String user,
+            @Body JsonTemplate.Body body
+    );
+
     @Step
     @POST("repos/{user}/rest/issues")
     Call<String> postIssue(
@@ -0,0 +1,189 @@
+package com.sqa.services;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sqa.utils.Json;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Stage;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.TestResult;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint call timings and byte counts collected by {@link MetricsEventListener}.
+ * Endpoints are keyed by HTTP method and Retrofit path template, e.g.
+ * {@code GET repos/{user}/rest/issues}, so different users and pages aggregate together.
+ */
+public final class HttpMetrics {
+
+    public enum Phase {
+        DNS, CONNECT, TLS, TTFB, TOTAL
+    }
+
+    private static final HttpMetrics SHARED = new HttpMetrics();
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final AtomicBoolean exportScheduled = new AtomicBoolean();
+
+    public static HttpMetrics shared() {
+        return SHARED;
+    }
+
+    public Endpoint endpoint(String name) {
+        return endpoints.computeIfAbsent(name, key -> new Endpoint());
+    }
+
+    public boolean isEmpty() {
+        return endpoints.isEmpty();
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    public ObjectNode toJson() {
+        ObjectNode root = Json.MAPPER.createObjectNode();
+        for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+            root.set(entry.getKey(), entry.getValue().toJson());
+        }
+        return root;
+    }
+
+    public void writeJson(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Json.MAPPER.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), toJson());
+    }
+
+    /**
+     * Writes the JSON summary to {@code file} and attaches it to the Allure results when the JVM
+     * exits, i.e. after the last test of the surefire run. Only the first call has an effect.
+     */
+    public void exportOnShutdown(Path file) {
+        if (!exportScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (isEmpty()) {
+                return;
+            }
+            try {
+                writeJson(file);
+                attachToAllure();
+            } catch (IOException e) {
+                System.err.println("Cannot export HTTP metrics: " + e);
+            }
+        }, "http-metrics-export"));
+    }
+
+    /**
+     * Adds the summary to the Allure report as a separate "HTTP metrics" result, since suite end
+     * is outside of any test case.
+     */
+    public void attachToAllure() throws IOException {
+        byte[] json = Json.MAPPER.writerWithDefaultPrettyPrinter()
+                .writeValueAsString(toJson())
+                .getBytes(StandardCharsets.UTF_8);
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String uuid = UUID.randomUUID().toString();
+        lifecycle.scheduleTestCase(new TestResult()
+                .setUuid(uuid)
+                .setName("HTTP metrics")
+                .setFullName(HttpMetrics.class.getName())
+                .setStatus(Status.PASSED)
+                .setStage(Stage.FINISHED));
+        lifecycle.startTestCase(uuid);
+        lifecycle.addAttachment("http-metrics", "application/json", ".json", json);
+        lifecycle.stopTestCase(uuid);
+        lifecycle.writeTestCase(uuid);
+    }
+
+    public static final class Endpoint {
+        private final Map<Phase, Histogram> timings = new ConcurrentHashMap<>();
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder requestBytes = new LongAdder();
+        private final LongAdder responseBytes = new LongAdder();
+
+        private Endpoint() {
+            for (Phase phase : Phase.values()) {
+                timings.put(phase, new ConcurrentHistogram(3));
+            }
+        }
+
+        void recordNanos(Phase phase, long nanos) {
+            timings.get(phase).recordValue(TimeUnit.NANOSECONDS.toMicros(Math.max(nanos, 0)));
+        }
+
+        void recordCall(boolean failed) {
+            calls.increment();
+            if (failed) {
+                failures.increment();
+            }
+        }
+
+        void addRequestBytes(long bytes) {
+            requestBytes.add(bytes);
+        }
+
+        void addResponseBytes(long bytes) {
+            responseBytes.add(bytes);
+        }
+
+        public Histogram timings(Phase phase) {
+            return timings.get(phase);
+        }
+
+        public long calls() {
+            return calls.sum();
+        }
+
+        public long failures() {
+            return failures.sum();
+        }
+
+        public long requestBytes() {
+            return requestBytes.sum();
+        }
+
+        public long responseBytes() {
+            return responseBytes.sum();
+        }
+
+        private ObjectNode toJson() {
+            ObjectNode node = Json.MAPPER.createObjectNode()
+                    .put("calls", calls())
+                    .put("failures", failures())
+                    .put("requestBytes", requestBytes())
+                    .put("responseBytes", responseBytes());
+            for (Phase phase : Phase.values()) {
+                Histogram histogram = timings.get(phase).copy();
+                if (histogram.getTotalCount() == 0) {
+                    continue;
+                }
+                node.putObject(phase.name().toLowerCase())
+                        .put("count", histogram.getTotalCount())
+                        .put("meanMs", histogram.getMean() / 1000)
+                        .put("p50Ms", histogram.getValueAtPercentile(50) / 1000.0)
+                        .put("p90Ms", histogram.getValueAtPercentile(90) / 1000.0)
+                        .put("p99Ms", histogram.getValueAtPercentile(99) / 1000.0)
+                        .put("maxMs", histogram.getMaxValue() / 1000.0);
+            }
+            return node;
+        }
+    }
+}
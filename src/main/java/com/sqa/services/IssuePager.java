@@ -0,0 +1,188 @@
+package com.sqa.services;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.sqa.model.github.Issue;
+import com.sqa.utils.Json;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily walks every page of {@code repos/{user}/rest/issues} by following {@code Link: rel="next"}.
+ * Each page is decoded element by element straight from the response stream, and the next page is
+ * requested as soon as the current page's headers arrive, so at most two pages are open at a time
+ * regardless of the number of issues.
+ */
+public final class IssuePager implements Iterator<Issue>, Closeable {
+
+    private static final ObjectReader ISSUE_READER = Json.MAPPER.readerFor(Issue.class);
+
+    private final GitHubService service;
+    private final String authToken;
+
+    private ResponseBody currentBody;
+    private MappingIterator<Issue> currentIssues;
+    private CompletableFuture<Response<ResponseBody>> nextPage;
+
+    private IssuePager(GitHubService service, String authToken, Call<ResponseBody> firstPage) {
+        this.service = service;
+        this.authToken = authToken;
+        this.nextPage = fetch(firstPage);
+    }
+
+    public static IssuePager open(GitHubService service, String authToken, String user) {
+        return open(service, authToken, user, Collections.<String, String>emptyMap());
+    }
+
+    public static IssuePager open(GitHubService service, String authToken, String user, Map<String, String> query) {
+        return new IssuePager(service, authToken, service.getUsersIssuesPage(authToken, user, query));
+    }
+
+    /**
+     * The returned stream must be closed (e.g. with try-with-resources) when not fully consumed.
+     */
+    public static Stream<Issue> stream(GitHubService service, String authToken, String user) {
+        return stream(open(service, authToken, user));
+    }
+
+    public static Stream<Issue> stream(GitHubService service, String authToken, String user, Map<String, String> query) {
+        return stream(open(service, authToken, user, query));
+    }
+
+    private static Stream<Issue> stream(IssuePager pager) {
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(pager, Spliterator.ORDERED | Spliterator.NONNULL),
+                        false)
+                .onClose(pager::close);
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (currentIssues == null || !currentIssues.hasNextValue()) {
+                closeCurrent();
+                if (nextPage == null) {
+                    return false;
+                }
+                openPage(await(nextPage));
+            }
+            return true;
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Issue next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            return currentIssues.nextValue();
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        closeCurrent();
+        if (nextPage != null) {
+            nextPage.cancel(true);
+            nextPage.thenAccept(response -> closeQuietly(response.body()));
+            nextPage = null;
+        }
+    }
+
+    private void openPage(Response<ResponseBody> page) throws IOException {
+        if (!page.isSuccessful() || page.body() == null) {
+            closeQuietly(page.errorBody());
+            throw new IOException(String.format("Unexpected response %d for %s",
+                    page.code(), page.raw().request().url()));
+        }
+        String next = nextLink(page.headers().get("Link"));
+        nextPage = next == null ? null : fetch(service.getPage(authToken, next));
+
+        currentBody = page.body();
+        currentIssues = ISSUE_READER.readValues(currentBody.byteStream());
+    }
+
+    private void closeCurrent() {
+        currentIssues = null;
+        closeQuietly(currentBody);
+        currentBody = null;
+    }
+
+    private static CompletableFuture<Response<ResponseBody>> fetch(Call<ResponseBody> call) {
+        CompletableFuture<Response<ResponseBody>> future = new CompletableFuture<Response<ResponseBody>>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                call.cancel();
+                return super.cancel(mayInterruptIfRunning);
+            }
+        };
+        call.enqueue(new Callback<ResponseBody>() {
+            @Override
+            public void onResponse(Call<ResponseBody> call, Response<ResponseBody> response) {
+                if (!future.complete(response)) {
+                    closeQuietly(response.body());
+                }
+            }
+
+            @Override
+            public void onFailure(Call<ResponseBody> call, Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+
+    private static Response<ResponseBody> await(CompletableFuture<Response<ResponseBody>> page) throws IOException {
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    static String nextLink(String linkHeader) {
+        if (linkHeader == null) {
+            return null;
+        }
+        for (String link : linkHeader.split(",")) {
+            int start = link.indexOf('<');
+            int end = link.indexOf('>');
+            if (start >= 0 && end > start && link.substring(end).contains("rel=\"next\"")) {
+                return link.substring(start + 1, end);
+            }
+        }
+        return null;
+    }
+
+    private static void closeQuietly(ResponseBody body) {
+        if (body != null) {
+            body.close();
+        }
+    }
+}
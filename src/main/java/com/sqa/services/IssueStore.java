@@ -0,0 +1,181 @@
+package com.sqa.services;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.sqa.model.github.Issue;
+import com.sqa.model.github.IssueIndex;
+import com.sqa.utils.Json;
+import okio.Buffer;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only file of {@link Issue} records, the local copy that {@link IssueSync} keeps up to date.
+ * <p>
+ * Every record is length-prefixed: {@code int length, long id, long updatedAt millis, issue JSON}.
+ * A changed issue is appended again and the newest record wins, so writes never touch earlier
+ * bytes. Opening the store reads only the record headers to index the newest offset per id and the
+ * latest {@code updated_at}; reads take the JSON from a memory-mapped view of the file, remapped
+ * when it has grown since the last read. A record cut short by a crash is truncated away on open,
+ * before anything is mapped: a mapping cannot be released on demand, and Windows refuses to
+ * truncate a file while one is alive.
+ */
+public final class IssueStore implements Closeable {
+
+    private static final ObjectReader ISSUE_READER = Json.MAPPER.readerFor(Issue.class);
+    private static final int HEADER_BYTES = 4 + 8 + 8;
+
+    private final FileChannel channel;
+    private final Map<Long, Integer> offsets = new LinkedHashMap<>();
+    private final Map<Long, Long> updatedAt = new HashMap<>();
+    private MappedByteBuffer mapped;
+    private long lastUpdatedAt = Long.MIN_VALUE;
+
+    private IssueStore(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    public static IssueStore open(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        IssueStore store = new IssueStore(FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE));
+        try {
+            store.buildIndex();
+        } catch (IOException | RuntimeException e) {
+            store.channel.close();
+            throw e;
+        }
+        return store;
+    }
+
+    /**
+     * Appends {@code issue} unless the stored copy has the same {@code updated_at}.
+     *
+     * @return whether a record was appended
+     */
+    public synchronized boolean put(Issue issue) throws IOException {
+        long updated = issue.getUpdatedAt() == null ? 0 : issue.getUpdatedAt().toEpochMilli();
+        Long stored = updatedAt.get(issue.getId());
+        if (stored != null && stored == updated) {
+            return false;
+        }
+        byte[] json = Json.MAPPER.writeValueAsBytes(issue);
+        Buffer record = new Buffer()
+                .writeInt(HEADER_BYTES - 4 + json.length)
+                .writeLong(issue.getId())
+                .writeLong(updated)
+                .write(json);
+
+        long position = channel.size();
+        if (position + record.size() > Integer.MAX_VALUE) {
+            throw new IOException("Issue store is full: " + position + " bytes");
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(record.readByteArray());
+        while (bytes.hasRemaining()) {
+            channel.write(bytes, position + bytes.position());
+        }
+        index(issue.getId(), (int) position, updated);
+        return true;
+    }
+
+    /**
+     * @return the newest stored version of the issue, or {@code null} when none was stored
+     */
+    public synchronized Issue get(long id) throws IOException {
+        Integer offset = offsets.get(id);
+        return offset == null ? null : read(offset);
+    }
+
+    /**
+     * The newest version of every stored issue, in the order the issues were first stored.
+     */
+    public synchronized List<Issue> all() throws IOException {
+        List<Issue> issues = new ArrayList<>(offsets.size());
+        for (int offset : offsets.values()) {
+            issues.add(read(offset));
+        }
+        return issues;
+    }
+
+    public IssueIndex index() throws IOException {
+        return IssueIndex.of(all());
+    }
+
+    public synchronized int size() {
+        return offsets.size();
+    }
+
+    /**
+     * @return the latest {@code updated_at} of the stored issues, or {@code null} when the store is empty
+     */
+    public synchronized Instant lastUpdatedAt() {
+        return offsets.isEmpty() ? null : Instant.ofEpochMilli(lastUpdatedAt);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        mapped = null;
+        channel.force(false);
+        channel.close();
+    }
+
+    private Issue read(int offset) throws IOException {
+        ByteBuffer record = map().duplicate();
+        byte[] json = new byte[record.getInt(offset) - (HEADER_BYTES - 4)];
+        record.position(offset + HEADER_BYTES);
+        record.get(json);
+        return ISSUE_READER.readValue(json);
+    }
+
+    private MappedByteBuffer map() throws IOException {
+        long size = channel.size();
+        if (mapped == null || mapped.capacity() < size) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        return mapped;
+    }
+
+    private void buildIndex() throws IOException {
+        long size = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        long position = 0;
+        while (position + HEADER_BYTES <= size) {
+            header.clear();
+            while (header.hasRemaining()) {
+                if (channel.read(header, position + header.position()) < 0) {
+                    throw new EOFException("Issue store shrank while opening at " + position);
+                }
+            }
+            int length = header.getInt(0);
+            if (length < HEADER_BYTES - 4 || position + 4 + length > size) {
+                break;
+            }
+            index(header.getLong(4), (int) position, header.getLong(12));
+            position += 4 + length;
+        }
+        if (position < size) {
+            channel.truncate(position);
+        }
+    }
+
+    private void index(long id, int offset, long updated) {
+        offsets.put(id, offset);
+        updatedAt.put(id, updated);
+        lastUpdatedAt = Math.max(lastUpdatedAt, updated);
+    }
+}
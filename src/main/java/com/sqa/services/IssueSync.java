@@ -0,0 +1,93 @@
+package com.sqa.services;
+
+import com.sqa.model.github.Issue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Brings an {@link IssueStore} up to date with {@code repos/{user}/rest/issues}.
+ * <p>
+ * The first sync walks every page, open and closed issues alike. Later syncs ask only for issues
+ * updated since the latest {@code updated_at} in the store, so a repeat run transfers the changed
+ * issues instead of the whole repository. GitHub's {@code since} is inclusive and has second
+ * precision, so the issues updated in that last second come back again; the store skips them
+ * because their {@code updated_at} has not changed.
+ */
+public final class IssueSync {
+
+    private final GitHubService service;
+    private final String authToken;
+    private final String user;
+    private final IssueStore store;
+
+    public IssueSync(GitHubService service, String authToken, String user, IssueStore store) {
+        this.service = service;
+        this.authToken = authToken;
+        this.user = user;
+        this.store = store;
+    }
+
+    public Result sync() throws IOException {
+        Instant since = store.lastUpdatedAt();
+        Map<String, String> query = new LinkedHashMap<>();
+        query.put("state", "all");
+        query.put("sort", "updated");
+        query.put("direction", "asc");
+        query.put("per_page", "100");
+        if (since != null) {
+            query.put("since", since.toString());
+        }
+
+        int fetched = 0;
+        int stored = 0;
+        try (IssuePager pager = IssuePager.open(service, authToken, user, query)) {
+            while (pager.hasNext()) {
+                Issue issue = pager.next();
+                fetched++;
+                if (store.put(issue)) {
+                    stored++;
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return new Result(since, fetched, stored);
+    }
+
+    public static final class Result {
+        private final Instant since;
+        private final int fetched;
+        private final int stored;
+
+        private Result(Instant since, int fetched, int stored) {
+            this.since = since;
+            this.fetched = fetched;
+            this.stored = stored;
+        }
+
+        /** Lower bound sent as {@code since}, {@code null} for the first, full sync. */
+        public Instant since() {
+            return since;
+        }
+
+        /** Issues received from GitHub. */
+        public int fetched() {
+            return fetched;
+        }
+
+        /** Issues that were new or changed, i.e. appended to the store. */
+        public int stored() {
+            return stored;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s sync: %d issues fetched, %d new or changed",
+                    since == null ? "Full" : "Incremental since " + since, fetched, stored);
+        }
+    }
+}
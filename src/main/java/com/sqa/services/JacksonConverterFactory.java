@@ -0,0 +1,80 @@
+package com.sqa.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.sqa.model.github.LazyIssueList;
+import com.sqa.utils.Json;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Retrofit converter backed by one shared {@link ObjectMapper}. Readers and writers are resolved
+ * once per type and responses are decoded straight from the body stream. {@link LazyIssueList}
+ * is the exception: it keeps the body bytes and decodes on access.
+ */
+public final class JacksonConverterFactory extends Converter.Factory {
+
+    private static final MediaType MEDIA_TYPE = MediaType.get("application/json; charset=UTF-8");
+
+    private final ObjectMapper mapper;
+    private final Map<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final Map<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    private JacksonConverterFactory(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    public static JacksonConverterFactory create() {
+        return create(Json.MAPPER);
+    }
+
+    public static JacksonConverterFactory create(ObjectMapper mapper) {
+        return new JacksonConverterFactory(mapper);
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+        if (type == LazyIssueList.class) {
+            return body -> {
+                try {
+                    return LazyIssueList.parse(body.bytes());
+                } finally {
+                    body.close();
+                }
+            };
+        }
+        ObjectReader reader = readers.computeIfAbsent(type,
+                key -> mapper.readerFor(mapper.getTypeFactory().constructType(key)));
+        return body -> {
+            try {
+                return reader.readValue(body.byteStream());
+            } finally {
+                body.close();
+            }
+        };
+    }
+
+    @Override
+    public Converter<?, RequestBody> requestBodyConverter(Type type,
+                                                          Annotation[] parameterAnnotations,
+                                                          Annotation[] methodAnnotations,
+                                                          Retrofit retrofit) {
+        ObjectWriter writer = writers.computeIfAbsent(type,
+                key -> mapper.writerFor(mapper.getTypeFactory().constructType(key)));
+        return value -> {
+            Buffer buffer = new Buffer();
+            writer.writeValue(buffer.outputStream(), value);
+            return RequestBody.create(MEDIA_TYPE, buffer.readByteString());
+        };
+    }
+}
@@ -0,0 +1,187 @@
+package com.sqa.services;
+
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Open-loop load generator for any Retrofit service method.
+ * <p>
+ * Requests are started on a fixed schedule with {@link Call#enqueue} regardless of how many are
+ * still in flight, and each latency is measured from the request's <em>intended</em> start time,
+ * so a stalled server shows up in the percentiles instead of silently lowering the request rate
+ * (coordinated omission). Calls run on virtual threads when the JDK provides them.
+ * <p>
+ * {@code java -cp ... com.sqa.services.LoadDriver <baseUrl> [requestsPerSecond] [seconds]} drives
+ * {@code GitHubService.getZen} against {@code baseUrl}, which should be a local stub rather than
+ * the rate-limited GitHub API.
+ */
+public final class LoadDriver<S> {
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final S service;
+    private final ExecutorService executor;
+
+    public LoadDriver(Class<S> serviceType, String baseUrl) {
+        this.executor = newExecutor();
+        Dispatcher dispatcher = new Dispatcher(executor);
+        dispatcher.setMaxRequests(Integer.MAX_VALUE);
+        dispatcher.setMaxRequestsPerHost(Integer.MAX_VALUE);
+
+        OkHttpClient.Builder builder = ClientFactory.client().newBuilder()
+                .dispatcher(dispatcher);
+        // every generated request has to reach the server exactly once: none shared, retried or hedged;
+        // and a load run is not a test step worth two attachments per request
+        builder.interceptors().removeIf(interceptor -> interceptor instanceof CoalescingInterceptor
+                || interceptor instanceof ResilienceInterceptor
+                || interceptor instanceof AllureStepInterceptor);
+        // built directly: a driver per random stub port must not pile up in ClientFactory's cache
+        this.service = ClientFactory.newRetrofit(baseUrl, builder.build()).create(serviceType);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length == 0) {
+            throw new IllegalArgumentException("Usage: LoadDriver <baseUrl> [requestsPerSecond] [seconds]");
+        }
+        int rate = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        LoadDriver<GitHubService> driver = new LoadDriver<>(GitHubService.class, args[0]);
+        System.out.println(driver.run(GitHubService::getZen, rate, Duration.ofSeconds(seconds)));
+        driver.shutdown();
+    }
+
+    /**
+     * Issues {@code requestsPerSecond * duration} calls of {@code method} at a constant rate and
+     * waits for all of them to complete.
+     */
+    @SuppressWarnings("unchecked")
+    public Report run(Function<S, Call<?>> method, int requestsPerSecond, Duration duration)
+            throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / requestsPerSecond;
+        int total = (int) (requestsPerSecond * duration.toMillis() / 1000);
+        Recorder recorder = new Recorder(MAX_LATENCY_NANOS, 3);
+        LongAdder errors = new LongAdder();
+        LongAdder failures = new LongAdder();
+        CountDownLatch completed = new CountDownLatch(total);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            long intendedStart = start + i * intervalNanos;
+            long now;
+            while ((now = System.nanoTime()) < intendedStart) {
+                LockSupport.parkNanos(intendedStart - now);
+            }
+            Call<Object> call = (Call<Object>) method.apply(service);
+            call.enqueue(new Callback<Object>() {
+                @Override
+                public void onResponse(Call<Object> call, Response<Object> response) {
+                    record(recorder, intendedStart);
+                    if (!response.isSuccessful()) {
+                        errors.increment();
+                    }
+                    completed.countDown();
+                }
+
+                @Override
+                public void onFailure(Call<Object> call, Throwable t) {
+                    record(recorder, intendedStart);
+                    failures.increment();
+                    completed.countDown();
+                }
+            });
+        }
+        completed.await();
+        long elapsedNanos = System.nanoTime() - start;
+
+        return new Report(recorder.getIntervalHistogram(), total, errors.sum(), failures.sum(),
+                requestsPerSecond, elapsedNanos);
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static void record(Recorder recorder, long intendedStart) {
+        recorder.recordValue(Math.min(System.nanoTime() - intendedStart, MAX_LATENCY_NANOS));
+    }
+
+    private static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "load-driver");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public static final class Report {
+        private final Histogram latencies;
+        private final long requests;
+        private final long errors;
+        private final long failures;
+        private final int targetRate;
+        private final long elapsedNanos;
+
+        private Report(Histogram latencies, long requests, long errors, long failures,
+                       int targetRate, long elapsedNanos) {
+            this.latencies = latencies;
+            this.requests = requests;
+            this.errors = errors;
+            this.failures = failures;
+            this.targetRate = targetRate;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public Histogram latencies() {
+            return latencies;
+        }
+
+        public long requests() {
+            return requests;
+        }
+
+        /** Responses with a non-2xx status. */
+        public long errors() {
+            return errors;
+        }
+
+        /** Calls that failed with an exception. */
+        public long failures() {
+            return failures;
+        }
+
+        public double throughput() {
+            return requests * 1e9 / elapsedNanos;
+        }
+
+        public double percentileMillis(double percentile) {
+            return latencies.getValueAtPercentile(percentile) / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("requests=%d errors=%d failures=%d target=%d/s throughput=%.1f/s "
+                            + "p50=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms",
+                    requests, errors, failures, targetRate, throughput(),
+                    percentileMillis(50), percentileMillis(99), percentileMillis(99.9),
+                    latencies.getMaxValue() / 1e6);
+        }
+    }
+}
@@ -1,26 +1,138 @@
 package com.sqa.services;
 
 import com.sqa.utils.TestLogger;
+import okhttp3.Headers;
 import okhttp3.Interceptor;
+import okhttp3.MediaType;
 import okhttp3.Request;
+import okhttp3.ResponseBody;
+import okio.Buffer;
 import okio.BufferedSource;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.util.Objects;
 
+/**
+ * Holds no per-call state, so one instance can be shared by concurrent calls; each request and
+ * response is written as a single log message and never interleaves with other calls.
+ */
 public class LoggingInterceptor implements Interceptor, TestLogger {
+
+    public enum Level {
+        NONE, HEADERS, BODY
+    }
+
+    public static final long UNLIMITED = -1;
+
+    private final Level level;
+    private final long bodyPeekLimit;
+    private final TestLogger logger;
+
+    /**
+     * Logs headers and the whole response body, buffering it in memory.
+     */
+    public LoggingInterceptor() {
+        this(Level.BODY, UNLIMITED);
+    }
+
+    /**
+     * Streaming mode: logs at most {@code bodyPeekLimit} bytes of textual bodies by peeking the
+     * response source, so the body is neither consumed nor fully buffered.
+     */
+    public LoggingInterceptor(Level level, long bodyPeekLimit) {
+        this(level, bodyPeekLimit, null);
+    }
+
+    /**
+     * Same as {@link #LoggingInterceptor(Level, long)}, writing through {@code logger}
+     * (e.g. {@link com.sqa.utils.AsyncTestLogger#shared()}) instead of the calling thread's console.
+     *
+     * @throws IllegalArgumentException if {@code bodyPeekLimit} is negative and not {@link #UNLIMITED}
+     */
+    public LoggingInterceptor(Level level, long bodyPeekLimit, TestLogger logger) {
+        if (bodyPeekLimit < 0 && bodyPeekLimit != UNLIMITED) {
+            throw new IllegalArgumentException("bodyPeekLimit must be non-negative or UNLIMITED: " + bodyPeekLimit);
+        }
+        this.level = level;
+        this.bodyPeekLimit = bodyPeekLimit;
+        this.logger = logger == null ? this : logger;
+    }
+
     @Override
     public okhttp3.Response intercept(Chain chain) throws IOException {
         Request request = chain.request();
-        log(String.format("Sending '%s' request to '%s'. Headers: %s", request.method(), request.url(), request.headers()));
+        if (level == Level.NONE) {
+            return chain.proceed(request);
+        }
+
+        logger.log("%s", new StringBuilder()
+                .append("Sending '").append(request.method())
+                .append("' request to '").append(request.url())
+                .append("'. Headers: ").append(request.headers())
+                .toString());
 
         okhttp3.Response response = chain.proceed(request);
-        BufferedSource responseBodySource = Objects.requireNonNull(response.body()).source();
 
-        log(String.format("Receiving response %s. Headers: %n%s" +
-                "%nBody: %s", response.request().url(), response.headers(), responseBodySource.readString(StandardCharsets.UTF_8)));
+        StringBuilder message = new StringBuilder()
+                .append("Receiving response ").append(response.request().url())
+                .append(". Headers: \n").append(response.headers());
+        if (level == Level.BODY) {
+            message.append("\nBody: ");
+            appendBody(message, response);
+        }
+        logger.log("%s", message.toString());
 
         return response;
     }
+
+    private void appendBody(StringBuilder message, okhttp3.Response response) throws IOException {
+        ResponseBody body = response.body();
+        if (body == null) {
+            return;
+        }
+        MediaType contentType = body.contentType();
+        if (!isTextual(contentType) || isEncoded(response.headers())) {
+            message.append("<").append(contentType).append(" body omitted, ")
+                    .append(body.contentLength()).append(" bytes>");
+            return;
+        }
+        Charset charset = contentType == null ? StandardCharsets.UTF_8 : contentType.charset(StandardCharsets.UTF_8);
+
+        BufferedSource source = body.source();
+        if (bodyPeekLimit == UNLIMITED) {
+            source.request(Long.MAX_VALUE);
+            message.append(source.getBuffer().clone().readString(charset));
+            return;
+        }
+
+        BufferedSource peek = source.peek();
+        boolean truncated = peek.request(bodyPeekLimit + 1);
+        long prefixSize = Math.min(bodyPeekLimit, peek.getBuffer().size());
+        if (prefixSize > 0) {
+            Buffer prefix = new Buffer();
+            peek.read(prefix, prefixSize);
+            message.append(prefix.readString(charset));
+        }
+        if (truncated) {
+            message.append("... (truncated at ").append(bodyPeekLimit).append(" bytes)");
+        }
+    }
+
+    private static boolean isTextual(MediaType contentType) {
+        if (contentType == null) {
+            return true;
+        }
+        String subtype = contentType.subtype();
+        return "text".equals(contentType.type())
+                || subtype.contains("json")
+                || subtype.contains("xml")
+                || subtype.contains("x-www-form-urlencoded")
+                || subtype.contains("javascript");
+    }
+
+    private static boolean isEncoded(Headers headers) {
+        String contentEncoding = headers.get("Content-Encoding");
+        return contentEncoding != null && !"identity".equalsIgnoreCase(contentEncoding);
+    }
 }
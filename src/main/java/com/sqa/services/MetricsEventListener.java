@@ -0,0 +1,171 @@
+package com.sqa.services;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import retrofit2.Invocation;
+import retrofit2.http.DELETE;
+import retrofit2.http.GET;
+import retrofit2.http.HEAD;
+import retrofit2.http.HTTP;
+import retrofit2.http.PATCH;
+import retrofit2.http.POST;
+import retrofit2.http.PUT;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times the phases of one call and reports them to {@link HttpMetrics} when it ends.
+ * TTFB is measured from sending the request headers to receiving the response headers.
+ */
+public class MetricsEventListener extends EventListener {
+
+    private static final Map<Method, String> TEMPLATES = new ConcurrentHashMap<>();
+
+    private final HttpMetrics metrics;
+
+    private long callStart;
+    private long dnsStart;
+    private long connectStart;
+    private long secureConnectStart;
+    private long requestHeadersStart;
+    private long dnsNanos = -1;
+    private long connectNanos = -1;
+    private long tlsNanos = -1;
+    private long ttfbNanos = -1;
+    private long requestBytes;
+    private long responseBytes;
+
+    public MetricsEventListener(HttpMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public static EventListener.Factory factory(HttpMetrics metrics) {
+        return call -> new MetricsEventListener(metrics);
+    }
+
+    @Override
+    public void callStart(Call call) {
+        callStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        dnsNanos = System.nanoTime() - dnsStart;
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        connectStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        secureConnectStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        tlsNanos = System.nanoTime() - secureConnectStart;
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        connectNanos = System.nanoTime() - connectStart;
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        requestHeadersStart = System.nanoTime();
+    }
+
+    @Override
+    public void requestBodyEnd(Call call, long byteCount) {
+        requestBytes += byteCount;
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        ttfbNanos = System.nanoTime() - requestHeadersStart;
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        responseBytes += byteCount;
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        finish(call, false);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        finish(call, true);
+    }
+
+    private void finish(Call call, boolean failed) {
+        HttpMetrics.Endpoint endpoint = metrics.endpoint(endpointName(call.request()));
+        endpoint.recordCall(failed);
+        endpoint.recordNanos(HttpMetrics.Phase.TOTAL, System.nanoTime() - callStart);
+        if (dnsNanos >= 0) {
+            endpoint.recordNanos(HttpMetrics.Phase.DNS, dnsNanos);
+        }
+        if (connectNanos >= 0) {
+            endpoint.recordNanos(HttpMetrics.Phase.CONNECT, connectNanos);
+        }
+        if (tlsNanos >= 0) {
+            endpoint.recordNanos(HttpMetrics.Phase.TLS, tlsNanos);
+        }
+        if (ttfbNanos >= 0) {
+            endpoint.recordNanos(HttpMetrics.Phase.TTFB, ttfbNanos);
+        }
+        endpoint.addRequestBytes(requestBytes);
+        endpoint.addResponseBytes(responseBytes);
+    }
+
+    /**
+     * {@code METHOD path-template} for Retrofit calls, {@code METHOD /raw/path} for anything else.
+     */
+    static String endpointName(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        String template = invocation == null ? null : TEMPLATES.computeIfAbsent(invocation.method(), MetricsEventListener::template);
+        return request.method() + ' ' + (template == null || template.isEmpty() ? request.url().encodedPath() : template);
+    }
+
+    private static String template(Method method) {
+        for (Annotation annotation : method.getAnnotations()) {
+            if (annotation instanceof GET) {
+                return ((GET) annotation).value();
+            } else if (annotation instanceof POST) {
+                return ((POST) annotation).value();
+            } else if (annotation instanceof PUT) {
+                return ((PUT) annotation).value();
+            } else if (annotation instanceof PATCH) {
+                return ((PATCH) annotation).value();
+            } else if (annotation instanceof DELETE) {
+                return ((DELETE) annotation).value();
+            } else if (annotation instanceof HEAD) {
+                return ((HEAD) annotation).value();
+            } else if (annotation instanceof HTTP) {
+                return ((HTTP) annotation).path();
+            }
+        }
+        return "";
+    }
+}
@@ -0,0 +1,26 @@
+package com.sqa.services;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Per-method settings of {@link ResilienceInterceptor}. Methods without it get the client-wide
+ * defaults from {@link ClientSettings}: retries for GET and HEAD, no hedging, circuit breaker on.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Resilience {
+
+    /** Retries after the first attempt; {@code -1} uses {@code sqa.http.retries}. */
+    int retries() default -1;
+
+    /** Sends a second attempt when the first one is slower than usual and takes the first answer. */
+    boolean hedge() default false;
+
+    /** Hedge delay used until enough latencies are recorded to take their 95th percentile. */
+    long hedgeDelayMillis() default 500;
+
+    boolean circuitBreaker() default true;
+}
@@ -0,0 +1,358 @@
+package com.sqa.services;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dispatcher;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import retrofit2.Invocation;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Retries, hedged requests and a per-host circuit breaker, configured per service method with
+ * {@link Resilience}.
+ * <ul>
+ *     <li>GET and HEAD are retried on I/O errors, 429 and 5xx with exponential backoff and full
+ *     jitter, honouring a short {@code Retry-After}. Other methods are never retried.</li>
+ *     <li>A hedged GET is sent again when the first attempt takes longer than the method's 95th
+ *     percentile latency; whichever answers first wins and the other call is cancelled. Both
+ *     attempts are separate calls, tagged so that they pass through this interceptor untouched,
+ *     of a copy of the client with a dispatcher of its own: the call waiting for them already
+ *     holds a slot of the client's dispatcher, and attempts queued behind such calls would never
+ *     run. The wait ends with the call's timeout or when the call is cancelled.</li>
+ *     <li>A host whose calls keep failing, with I/O errors or 5xx, is short-circuited with an
+ *     {@link CircuitBreaker.OpenException} until its {@link CircuitBreaker} lets a trial call through. Rate limits
+ *     (429, or 403 from GitHub's secondary limit) do not count: the host is answering, and callers
+ *     such as {@link BulkIssueCreator} pace themselves on them.</li>
+ * </ul>
+ */
+public class ResilienceInterceptor implements Interceptor {
+
+    private static final int MIN_HEDGE_SAMPLES = 20;
+    private static final long MAX_BACKOFF_MILLIS = 5_000;
+    private static final long CANCEL_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final ScheduledExecutorService HEDGE_SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "hedge-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Supplier<OkHttpClient> client;
+    private final int defaultRetries;
+    private final long backoffMillis;
+    private final int breakerThreshold;
+    private final long breakerOpenMillis;
+    private final Policy defaultPolicy;
+    private final Map<Method, Policy> policies = new ConcurrentHashMap<>();
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private volatile OkHttpClient attempts;
+
+    /**
+     * @param client the client this interceptor is installed in, looked up lazily; hedged attempts
+     *               run on a copy of it with a separate dispatcher
+     */
+    public ResilienceInterceptor(Supplier<OkHttpClient> client, int defaultRetries, long backoffMillis,
+                                 int breakerThreshold, long breakerOpenMillis) {
+        this.client = client;
+        this.defaultRetries = defaultRetries;
+        this.backoffMillis = backoffMillis;
+        this.breakerThreshold = breakerThreshold;
+        this.breakerOpenMillis = breakerOpenMillis;
+        this.defaultPolicy = new Policy(defaultRetries, false, 0, true);
+    }
+
+    public CircuitBreaker circuitBreaker(String host) {
+        return breakers.computeIfAbsent(host, key -> new CircuitBreaker(breakerThreshold, breakerOpenMillis));
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (request.tag(HedgeAttempt.class) != null) {
+            return chain.proceed(request);
+        }
+
+        Policy policy = policy(request);
+        boolean idempotent = "GET".equals(request.method()) || "HEAD".equals(request.method());
+        int retries = idempotent ? policy.retries : 0;
+        CircuitBreaker breaker = policy.circuitBreaker && breakerThreshold > 0
+                ? circuitBreaker(request.url().host())
+                : null;
+
+        for (int attempt = 0; ; attempt++) {
+            if (breaker != null && !breaker.allowRequest()) {
+                throw new CircuitBreaker.OpenException(request.url().host());
+            }
+            Response response;
+            try {
+                response = policy.hedge && idempotent ? hedged(chain, policy) : chain.proceed(request);
+            } catch (IOException e) {
+                if (breaker != null) {
+                    breaker.onFailure();
+                }
+                if (attempt >= retries || chain.call().isCanceled()) {
+                    throw e;
+                }
+                backoff(attempt, null);
+                continue;
+            }
+
+            boolean failed = isRetryable(response.code());
+            if (breaker != null) {
+                if (isServerError(response.code())) {
+                    breaker.onFailure();
+                } else {
+                    breaker.onSuccess();
+                }
+            }
+            if (!failed || attempt >= retries) {
+                return response;
+            }
+            String retryAfter = response.header("Retry-After");
+            response.close();
+            backoff(attempt, retryAfter);
+        }
+    }
+
+    /**
+     * Forgets the latencies recorded so far, so hedge delays go back to the method defaults until
+     * enough new calls are seen. Latencies of another test class, or another server, say nothing
+     * about the next one.
+     */
+    public void resetHedgeDelays() {
+        for (Policy policy : policies.values()) {
+            policy.latencies.reset();
+        }
+        defaultPolicy.latencies.reset();
+    }
+
+    /** Hedged attempts started and not yet finished, for tests. */
+    int runningAttempts() {
+        OkHttpClient current = attempts;
+        return current == null ? 0 : current.dispatcher().runningCallsCount();
+    }
+
+    private Response hedged(Chain chain, Policy policy) throws IOException {
+        Request request = chain.request();
+        Request tagged = request.newBuilder().tag(HedgeAttempt.class, HedgeAttempt.INSTANCE).build();
+        Race race = new Race(attempts(), tagged);
+        long start = System.nanoTime();
+        race.start();
+        ScheduledFuture<?> hedge = HEDGE_SCHEDULER.schedule(race::start, policy.hedgeDelayMillis(), TimeUnit.MILLISECONDS);
+        try {
+            Response response = await(race, chain);
+            policy.latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+            return response;
+        } finally {
+            hedge.cancel(false);
+            race.cancelAll();
+        }
+    }
+
+    /**
+     * Waits for the race in short slices, so that the wait ends once the call is cancelled, and at
+     * most for the call's timeout.
+     */
+    private static Response await(Race race, Chain chain) throws IOException {
+        long timeoutNanos = chain.call().timeout().timeoutNanos();
+        long deadline = System.nanoTime() + timeoutNanos;
+        while (true) {
+            if (chain.call().isCanceled()) {
+                throw new IOException("Canceled");
+            }
+            long slice = CANCEL_POLL_NANOS;
+            if (timeoutNanos > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new InterruptedIOException("timeout");
+                }
+                slice = Math.min(slice, remaining);
+            }
+            try {
+                return race.winner.get(slice, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // check for cancellation and the deadline again
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for " + chain.request().url());
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof IOException
+                        ? (IOException) e.getCause()
+                        : new IOException(e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Copy of the client whose dispatcher runs hedged attempts only. It needs no limits of its own:
+     * each call waiting in this interceptor starts at most two attempts.
+     */
+    private Call.Factory attempts() {
+        OkHttpClient current = attempts;
+        if (current == null) {
+            synchronized (this) {
+                if (attempts == null) {
+                    Dispatcher dispatcher = new Dispatcher();
+                    dispatcher.setMaxRequests(Integer.MAX_VALUE);
+                    dispatcher.setMaxRequestsPerHost(Integer.MAX_VALUE);
+                    attempts = client.get().newBuilder().dispatcher(dispatcher).build();
+                }
+                current = attempts;
+            }
+        }
+        return current;
+    }
+
+    private void backoff(int attempt, String retryAfter) throws InterruptedIOException {
+        long delayMillis = ThreadLocalRandom.current().nextLong(
+                Math.min(MAX_BACKOFF_MILLIS, backoffMillis << Math.min(attempt, 20)) + 1);
+        if (retryAfter != null) {
+            try {
+                delayMillis = Math.max(delayMillis, TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim())));
+            } catch (NumberFormatException ignored) {
+                // HTTP-date form, fall back to the backoff delay
+            }
+        }
+        try {
+            Thread.sleep(Math.min(delayMillis, MAX_BACKOFF_MILLIS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted during retry backoff");
+        }
+    }
+
+    private static boolean isRetryable(int code) {
+        return code == 429 || isServerError(code);
+    }
+
+    private static boolean isServerError(int code) {
+        return code >= 500 && code != 501;
+    }
+
+    private Policy policy(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        return invocation == null ? defaultPolicy : policies.computeIfAbsent(invocation.method(), this::newPolicy);
+    }
+
+    private Policy newPolicy(Method method) {
+        Resilience resilience = method.getAnnotation(Resilience.class);
+        if (resilience == null) {
+            return defaultPolicy;
+        }
+        return new Policy(resilience.retries() < 0 ? defaultRetries : resilience.retries(),
+                resilience.hedge(), resilience.hedgeDelayMillis(), resilience.circuitBreaker());
+    }
+
+    /** Marks the attempts of a hedged call, which are reported as part of the original call. */
+    enum HedgeAttempt {
+        INSTANCE
+    }
+
+    private static final class Policy {
+        private final int retries;
+        private final boolean hedge;
+        private final long defaultHedgeDelayMillis;
+        private final boolean circuitBreaker;
+        private final Histogram latencies = new ConcurrentHistogram(3);
+
+        Policy(int retries, boolean hedge, long defaultHedgeDelayMillis, boolean circuitBreaker) {
+            this.retries = retries;
+            this.hedge = hedge;
+            this.defaultHedgeDelayMillis = defaultHedgeDelayMillis;
+            this.circuitBreaker = circuitBreaker;
+        }
+
+        long hedgeDelayMillis() {
+            return latencies.getTotalCount() < MIN_HEDGE_SAMPLES
+                    ? defaultHedgeDelayMillis
+                    : Math.max(1, latencies.getValueAtPercentile(95) / 1000);
+        }
+    }
+
+    /**
+     * First response of up to two attempts. The loser is cancelled, or closed if it still
+     * produced a response. A failed first attempt starts the hedge at once instead of waiting for
+     * its delay; the race fails only when every started attempt has failed and none is left to
+     * start. All state is guarded by the race's lock, so a hedge starting concurrently with the
+     * last failure is either counted as running or started by that failure.
+     */
+    private static final class Race {
+        private final CompletableFuture<Response> winner = new CompletableFuture<>();
+        private final Call.Factory calls;
+        private final Request request;
+        private final Call[] attempts = new Call[2];
+        private int started;
+        private int running;
+        private Call winningCall;
+
+        Race(Call.Factory calls, Request request) {
+            this.calls = calls;
+            this.request = request;
+        }
+
+        /** Starts the next attempt, unless the race is decided or both attempts have started. */
+        synchronized void start() {
+            if (winner.isDone() || started == attempts.length) {
+                return;
+            }
+            Call call = calls.newCall(request);
+            attempts[started++] = call;
+            running++;
+            call.enqueue(new Callback() {
+                @Override
+                public void onResponse(Call call, Response response) {
+                    synchronized (Race.this) {
+                        running--;
+                        if (winner.complete(response)) {
+                            winningCall = call;
+                            return;
+                        }
+                    }
+                    response.close();
+                }
+
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    synchronized (Race.this) {
+                        running--;
+                        if (running > 0) {
+                            return;
+                        }
+                        if (started < attempts.length && !winner.isDone()) {
+                            start();
+                            return;
+                        }
+                        winner.completeExceptionally(e);
+                    }
+                }
+            });
+        }
+
+        synchronized void cancelAll() {
+            started = attempts.length;
+            for (Call attempt : attempts) {
+                if (attempt != null && attempt != winningCall) {
+                    attempt.cancel();
+                }
+            }
+        }
+    }
+}
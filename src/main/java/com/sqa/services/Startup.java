@@ -0,0 +1,110 @@
+package com.sqa.services;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.sqa.model.github.Issue;
+import com.sqa.utils.Json;
+import com.sqa.utils.TestLogger;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Startup work of the suites: a warm-up that front-loads what the first test would otherwise pay
+ * for, and, in warm-up mode, a one-line report of the time to the first HTTP response.
+ * <p>
+ * The first call of a short suite is dominated by one-off costs: building the shared client and
+ * its TLS context, Retrofit parsing service annotations, Jackson building its serializers and the
+ * class loading behind all of them. {@link #warmUp} does that work once per JVM, ideally on a
+ * background thread while JUnit is still discovering tests, see {@link #warmUpInBackground}.
+ * Together with {@link ClientSettings#isValidateEagerly()} and an AppCDS archive (the
+ * {@code fast-startup} Maven profile) this is what moves the first request forward.
+ */
+public final class Startup {
+
+    private static final TypeReference<List<Issue>> ISSUE_LIST = new TypeReference<List<Issue>>() { };
+    /** One issue touching every nested type of the model, so that each codec path is loaded. */
+    private static final byte[] WARM_UP_ISSUES = ("[{\"id\":1,\"number\":1,\"title\":\"warm-up\",\"state\":\"open\","
+            + "\"user\":{\"login\":\"warm-up\",\"id\":1},"
+            + "\"labels\":[{\"id\":1,\"name\":\"bug\",\"default\":true}],"
+            + "\"assignees\":[{\"login\":\"warm-up\",\"id\":1}],"
+            + "\"milestone\":{\"id\":1,\"title\":\"warm-up\",\"due_on\":\"2021-12-01T08:00:00Z\"},"
+            + "\"created_at\":\"2021-10-10T10:15:30Z\",\"closed_at\":null,\"body\":\"warm-up\"}]")
+            .getBytes(StandardCharsets.UTF_8);
+    private static final AtomicBoolean FIRST_RESPONSE = new AtomicBoolean();
+
+    private static CompletableFuture<Void> warmUp;
+
+    private Startup() {
+    }
+
+    /**
+     * Starts {@link #warmUp} on a daemon thread, once per JVM. The base URLs are resolved on that
+     * thread too, so starting a local stub server is part of the warm-up. Callers that need the
+     * warm-up to be complete can join the returned future; service lookups racing it simply wait
+     * for the proxy being built.
+     */
+    public static synchronized CompletableFuture<Void> warmUpInBackground(Supplier<String> gitHubUrl,
+                                                                           Supplier<String> gorestUrl) {
+        if (warmUp == null) {
+            warmUp = new CompletableFuture<>();
+            Thread thread = new Thread(() -> {
+                try {
+                    warmUp(gitHubUrl.get(), gorestUrl.get());
+                    warmUp.complete(null);
+                } catch (RuntimeException | Error e) {
+                    warmUp.completeExceptionally(e);
+                }
+            }, "sqa-warm-up");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return warmUp;
+    }
+
+    /**
+     * Builds the shared client, every service proxy of the suites for the given base URLs and the
+     * Jackson codecs, without sending a request.
+     */
+    public static void warmUp(String gitHubUrl, String gorestUrl) {
+        ClientFactory.client();
+        ClientFactory.service(gitHubUrl, GitHubService.class);
+        ClientFactory.service(gitHubUrl, GitHubAsyncService.class);
+        ClientFactory.service(gorestUrl, GorestService.class);
+        GitHubService.NEW_ISSUE.bind("warm-up", "warm-up");
+        try {
+            List<Issue> issues = Json.MAPPER.readValue(WARM_UP_ISSUES, ISSUE_LIST);
+            Json.MAPPER.writeValueAsBytes(issues);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Interceptor that logs, once per JVM, how long after JVM start the first response arrived.
+     * Installed on the shared client only with {@link ClientSettings#isWarmUp()}.
+     */
+    static Interceptor firstResponseReport(TestLogger logger) {
+        return chain -> {
+            if (FIRST_RESPONSE.get()) {
+                return chain.proceed(chain.request());
+            }
+            long started = System.nanoTime();
+            Response response = chain.proceed(chain.request());
+            if (FIRST_RESPONSE.compareAndSet(false, true)) {
+                logger.log("Time to first request: %s ms after JVM start (%s %s took %s ms)",
+                        String.valueOf(ManagementFactory.getRuntimeMXBean().getUptime()),
+                        chain.request().method(), chain.request().url().encodedPath(),
+                        String.valueOf((System.nanoTime() - started) / 1_000_000));
+            }
+            return response;
+        };
+    }
+}
@@ -0,0 +1,79 @@
+package com.sqa.services;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket that hands out reservations instead of blocking: {@link #reserve()} takes a token
+ * and returns how long the caller has to wait before using it, so sends can be scheduled without
+ * parking a thread per request. The refill rate can be lowered and the bucket paused at runtime
+ * when the server reports its own limits.
+ */
+public class TokenBucket {
+
+    private final double maxPermitsPerSecond;
+    private final double capacity;
+
+    private double permitsPerNano;
+    private double tokens;
+    private long lastRefillNanos;
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.maxPermitsPerSecond = permitsPerSecond;
+        this.capacity = burst;
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.tokens = burst;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Takes one token, going into debt if none is left.
+     *
+     * @return nanoseconds to wait before the reserved token may be used
+     */
+    public synchronized long reserve() {
+        long now = System.nanoTime();
+        refill(now);
+        tokens -= 1;
+        long wait = Math.max(0, lastRefillNanos - now);
+        return tokens >= 0 ? wait : wait + (long) (-tokens / permitsPerNano);
+    }
+
+    /**
+     * Hands out no new tokens before {@code nanoTime}, e.g. until a {@code Retry-After} expires.
+     */
+    public synchronized void pauseUntil(long nanoTime) {
+        refill(System.nanoTime());
+        if (nanoTime > lastRefillNanos) {
+            tokens = Math.min(tokens, 0);
+            lastRefillNanos = nanoTime;
+        }
+    }
+
+    /**
+     * Lowers the refill rate so that {@code permits} last for {@code nanos}, never going above
+     * the configured rate. Used to spread the remaining quota of a rate-limit window; an exhausted
+     * quota is handled with {@link #pauseUntil} instead.
+     */
+    public synchronized void spread(long permits, long nanos) {
+        if (permits <= 0) {
+            return;
+        }
+        refill(System.nanoTime());
+        double perNano = nanos > 0 ? (double) permits / nanos : Double.MAX_VALUE;
+        permitsPerNano = Math.min(perNano, maxPermitsPerSecond / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    public synchronized double permitsPerSecond() {
+        return permitsPerNano * TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private void refill(long now) {
+        if (now > lastRefillNanos) {
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * permitsPerNano);
+            lastRefillNanos = now;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.sqa.services;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+
+import java.io.IOException;
+
+/**
+ * Records every exchange into a {@link TrafficCapture}, or in replay mode answers requests from it
+ * without touching the network. Like {@link LoggingInterceptor} in its default mode, recording
+ * buffers the response body and hands the caller an unconsumed copy.
+ * <p>
+ * Installed ahead of {@link ResilienceInterceptor}, so an exchange is recorded once as the caller
+ * saw it, after retries, and a replay miss fails at once instead of being retried. Hedged attempts
+ * pass through untouched.
+ */
+public class TrafficCaptureInterceptor implements Interceptor {
+
+    private final TrafficCapture capture;
+    private final TrafficCapture.Mode mode;
+
+    public TrafficCaptureInterceptor(TrafficCapture capture, TrafficCapture.Mode mode) {
+        this.capture = capture;
+        this.mode = mode;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (request.tag(ResilienceInterceptor.HedgeAttempt.class) != null) {
+            return chain.proceed(request);
+        }
+        switch (mode) {
+            case RECORD:
+                return record(chain, request);
+            case REPLAY:
+                return replay(request);
+            default:
+                return chain.proceed(request);
+        }
+    }
+
+    private Response record(Chain chain, Request request) throws IOException {
+        String key = TrafficCapture.key(request);
+        Response response = chain.proceed(request);
+        ResponseBody body = response.body();
+        byte[] bytes = new byte[0];
+        if (body != null) {
+            BufferedSource source = body.source();
+            source.request(Long.MAX_VALUE);
+            bytes = source.getBuffer().clone().readByteArray();
+        }
+        capture.append(key, response, bytes);
+        return response;
+    }
+
+    private Response replay(Request request) throws IOException {
+        String key = TrafficCapture.key(request);
+        Response recorded = capture.find(key, request);
+        if (recorded == null) {
+            throw new IOException("No recorded response for " + key
+                    + " (Accept, Authorization and the body are part of the key, so a body that changes"
+                    + " between runs never replays)");
+        }
+        return recorded;
+    }
+}
@@ -0,0 +1,208 @@
+package com.sqa.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.IllegalFormatException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link TestLogger} that hands messages to a background writer instead of printing on the
+ * calling thread. Messages are formatted by the writer, written in batches and flushed at JVM
+ * shutdown. Messages logged after {@link #close()}, e.g. by another shutdown hook that ran after
+ * this logger's, are written on the calling thread.
+ * <p>
+ * The shared instance is configured with {@code -Dsqa.log.file=<path>} (stdout/stderr when absent),
+ * {@code -Dsqa.log.capacity=<messages>} and {@code -Dsqa.log.overflow=BLOCK|DROP}.
+ */
+public class AsyncTestLogger implements TestLogger {
+
+    public enum OverflowPolicy {
+        /** The calling thread waits until the writer frees a slot. */
+        BLOCK,
+        /** The message is discarded and counted. */
+        DROP
+    }
+
+    private static final int BATCH_SIZE = 256;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static volatile AsyncTestLogger shared;
+
+    private final LogRingBuffer<Event> buffer;
+    private final OverflowPolicy overflowPolicy;
+    private final PrintStream out;
+    private final PrintStream err;
+    private final LongAdder dropped = new LongAdder();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AsyncTestLogger(int capacity, OverflowPolicy overflowPolicy, PrintStream out, PrintStream err) {
+        this.buffer = new LogRingBuffer<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.out = out;
+        this.err = err;
+        this.writer = new Thread(this::drainLoop, "async-test-logger");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "async-test-logger-shutdown"));
+    }
+
+    public static AsyncTestLogger shared() {
+        if (shared == null) {
+            synchronized (AsyncTestLogger.class) {
+                if (shared == null) {
+                    shared = fromSystemProperties();
+                }
+            }
+        }
+        return shared;
+    }
+
+    private static AsyncTestLogger fromSystemProperties() {
+        int capacity = Integer.getInteger("sqa.log.capacity", 8192);
+        OverflowPolicy policy = OverflowPolicy.valueOf(System.getProperty("sqa.log.overflow", "BLOCK"));
+        String file = System.getProperty("sqa.log.file");
+        if (file == null) {
+            return new AsyncTestLogger(capacity, policy, System.out, System.err);
+        }
+        try {
+            PrintStream stream = new PrintStream(
+                    new BufferedOutputStream(new FileOutputStream(file, true), 64 * 1024),
+                    false, StandardCharsets.UTF_8.name());
+            return new AsyncTestLogger(capacity, policy, stream, stream);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open log file " + file, e);
+        }
+    }
+
+    @Override
+    public void log(String message, String... args) {
+        enqueue(new Event(false, message, args));
+    }
+
+    @Override
+    public void logError(String message, String... args) {
+        enqueue(new Event(true, message, args));
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Blocks until every message published before this call has been written and flushed.
+     */
+    public void flush() {
+        long target = buffer.published();
+        while (buffer.consumed() < target && writer.isAlive()) {
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        synchronized (this) {
+            out.flush();
+            err.flush();
+        }
+    }
+
+    /**
+     * Drains the remaining messages and stops the writer thread.
+     */
+    public void close() {
+        if (!running) {
+            return;
+        }
+        flush();
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void enqueue(Event event) {
+        while (!buffer.offer(event)) {
+            if (overflowPolicy == OverflowPolicy.DROP || !running) {
+                dropped.increment();
+                return;
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        if (!running) {
+            // the writer may already have done its last drain; batches are polled under the
+            // logger's monitor, so this thread can stand in for it
+            while (drainBatch() > 0) {
+                // write what the writer will not
+            }
+        }
+    }
+
+    private void drainLoop() {
+        long reportedDrops = 0;
+        while (running) {
+            int written = drainBatch();
+            long drops = dropped.sum();
+            if (drops != reportedDrops) {
+                synchronized (this) {
+                    err.println(String.format("[async-test-logger] %d messages dropped", drops - reportedDrops));
+                }
+                reportedDrops = drops;
+            }
+            if (written == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        while (drainBatch() > 0) {
+            // write whatever was published before shutdown
+        }
+    }
+
+    private int drainBatch() {
+        int written = 0;
+        boolean wroteOut = false;
+        boolean wroteErr = false;
+        synchronized (this) {
+            Event event;
+            while (written < BATCH_SIZE && (event = buffer.poll()) != null) {
+                PrintStream stream = event.error ? err : out;
+                stream.println(event.format());
+                wroteOut |= !event.error;
+                wroteErr |= event.error;
+                written++;
+            }
+            if (wroteOut) {
+                out.flush();
+            }
+            if (wroteErr) {
+                err.flush();
+            }
+        }
+        return written;
+    }
+
+    private static final class Event {
+        private final boolean error;
+        private final String message;
+        private final String[] args;
+
+        private Event(boolean error, String message, String[] args) {
+            this.error = error;
+            this.message = message;
+            this.args = args;
+        }
+
+        private String format() {
+            try {
+                return String.format(message, (Object[]) args);
+            } catch (IllegalFormatException e) {
+                return message;
+            }
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.sqa.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Set of JSON path expectations checked in one streaming pass over a response body, instead of
+ * building a GPath tree per {@code response.jsonPath().get(...)} call.
+ * <p>
+ * Paths are compiled once into a tree when the expectations are built, and can be verified against
+ * any number of bodies. Verification walks the tokens once, skips every subtree no path leads into,
+ * stops at the first failed expectation and stops reading as soon as every expectation has been
+ * checked. Paths use dots and indexes, e.g. {@code title}, {@code user.login},
+ * {@code labels[0].name} or {@code [3].number}.
+ * <pre>
+ * JsonExpectations expectations = JsonExpectations.builder()
+ *         .equalTo("title", "lux-training 09")
+ *         .matches("labels", labels -> ((List&lt;?&gt;) labels).isEmpty(), "no labels")
+ *         .build();
+ * expectations.verify(response.asByteArray());
+ * </pre>
+ */
+public final class JsonExpectations {
+
+    private final Node root;
+    private final List<Expectation> expectations;
+
+    private JsonExpectations(Node root, List<Expectation> expectations) {
+        this.root = root;
+        this.expectations = expectations;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public void verify(byte[] json) {
+        verify(new ByteArrayInputStream(json));
+    }
+
+    /**
+     * @throws AssertionError for the first expectation that fails or whose path is missing
+     */
+    public void verify(InputStream json) {
+        boolean[] checked = new boolean[expectations.size()];
+        Progress progress = new Progress(checked);
+        try (JsonParser parser = Json.MAPPER.getFactory().createParser(json)) {
+            if (parser.nextToken() != null) {
+                visit(parser, root, progress);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        for (int i = 0; i < checked.length; i++) {
+            if (!checked[i]) {
+                throw new AssertionError(expectations.get(i).path + ": path not found");
+            }
+        }
+    }
+
+    private static void visit(JsonParser parser, Node node, Progress progress) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (!node.expectations.isEmpty()) {
+            Object actual = token.isStructStart() ? parser.readValueAs(Object.class) : scalar(parser, token);
+            checkMaterialized(node, actual, progress);
+            return;
+        }
+        if (token == JsonToken.START_OBJECT && !node.fields.isEmpty()) {
+            while (!progress.done() && parser.nextToken() == JsonToken.FIELD_NAME) {
+                Node child = node.fields.get(parser.getCurrentName());
+                parser.nextToken();
+                if (child == null) {
+                    parser.skipChildren();
+                } else {
+                    visit(parser, child, progress);
+                }
+            }
+        } else if (token == JsonToken.START_ARRAY && !node.indexes.isEmpty()) {
+            for (int index = 0; !progress.done() && parser.nextToken() != JsonToken.END_ARRAY; index++) {
+                Node child = node.indexes.get(index);
+                if (child == null) {
+                    parser.skipChildren();
+                } else {
+                    visit(parser, child, progress);
+                }
+            }
+        } else {
+            parser.skipChildren();
+        }
+    }
+
+    /**
+     * Checks a node whose value had to be decoded anyway, together with every path below it.
+     */
+    private static void checkMaterialized(Node node, Object actual, Progress progress) {
+        for (Expectation expectation : node.expectations) {
+            expectation.check(actual);
+            progress.checked(expectation);
+        }
+        if (actual instanceof Map) {
+            for (Map.Entry<String, Node> field : node.fields.entrySet()) {
+                Map<?, ?> object = (Map<?, ?>) actual;
+                if (object.containsKey(field.getKey())) {
+                    checkMaterialized(field.getValue(), object.get(field.getKey()), progress);
+                }
+            }
+        } else if (actual instanceof List) {
+            List<?> array = (List<?>) actual;
+            for (Map.Entry<Integer, Node> index : node.indexes.entrySet()) {
+                if (index.getKey() < array.size()) {
+                    checkMaterialized(index.getValue(), array.get(index.getKey()), progress);
+                }
+            }
+        }
+    }
+
+    private static Object scalar(JsonParser parser, JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_STRING: return parser.getText();
+            case VALUE_NUMBER_INT: return parser.getNumberValue();
+            case VALUE_NUMBER_FLOAT: return parser.getDecimalValue();
+            case VALUE_TRUE: return Boolean.TRUE;
+            case VALUE_FALSE: return Boolean.FALSE;
+            default: return null;
+        }
+    }
+
+    private static boolean valuesEqual(Object expected, Object actual) {
+        if (expected instanceof Number && actual instanceof Number) {
+            return toDecimal((Number) expected).compareTo(toDecimal((Number) actual)) == 0;
+        }
+        return Objects.equals(expected, actual);
+    }
+
+    private static BigDecimal toDecimal(Number number) {
+        if (number instanceof BigDecimal) {
+            return (BigDecimal) number;
+        }
+        if (number instanceof BigInteger) {
+            return new BigDecimal((BigInteger) number);
+        }
+        if (number instanceof Double || number instanceof Float) {
+            return BigDecimal.valueOf(number.doubleValue());
+        }
+        return BigDecimal.valueOf(number.longValue());
+    }
+
+    public static final class Builder {
+        private final Node root = new Node();
+        private final List<Expectation> expectations = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Expects a scalar at {@code path}. Numbers compare by value, so {@code 1} matches {@code 1.0}.
+         */
+        public Builder equalTo(String path, Object expected) {
+            return add(path, actual -> valuesEqual(expected, actual), "<" + expected + ">");
+        }
+
+        /**
+         * Expects {@code predicate} to hold for the value at {@code path}: a {@code String},
+         * {@code Number}, {@code Boolean}, {@code null}, or a {@code Map}/{@code List} for objects and
+         * arrays.
+         */
+        public Builder matches(String path, Predicate<Object> predicate, String description) {
+            return add(path, predicate, description);
+        }
+
+        public JsonExpectations build() {
+            return new JsonExpectations(root, new ArrayList<>(expectations));
+        }
+
+        private Builder add(String path, Predicate<Object> predicate, String description) {
+            Expectation expectation = new Expectation(expectations.size(), path, predicate, description);
+            node(path).expectations.add(expectation);
+            expectations.add(expectation);
+            return this;
+        }
+
+        private Node node(String path) {
+            Node node = root;
+            int i = 0;
+            while (i < path.length()) {
+                char c = path.charAt(i);
+                if (c == '.') {
+                    i++;
+                } else if (c == '[') {
+                    int end = path.indexOf(']', i);
+                    if (end < 0) {
+                        throw new IllegalArgumentException("Unclosed index in path " + path);
+                    }
+                    int index = Integer.parseInt(path.substring(i + 1, end));
+                    node = node.indexes.computeIfAbsent(index, key -> new Node());
+                    i = end + 1;
+                } else {
+                    int end = i;
+                    while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                        end++;
+                    }
+                    node = node.fields.computeIfAbsent(path.substring(i, end), key -> new Node());
+                    i = end;
+                }
+            }
+            if (node == root) {
+                throw new IllegalArgumentException("Empty path");
+            }
+            return node;
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> fields = new HashMap<>();
+        private final Map<Integer, Node> indexes = new HashMap<>();
+        private final List<Expectation> expectations = new ArrayList<>();
+    }
+
+    private static final class Expectation {
+        private final int id;
+        private final String path;
+        private final Predicate<Object> predicate;
+        private final String description;
+
+        Expectation(int id, String path, Predicate<Object> predicate, String description) {
+            this.id = id;
+            this.path = path;
+            this.predicate = predicate;
+            this.description = description;
+        }
+
+        void check(Object actual) {
+            if (!predicate.test(actual)) {
+                throw new AssertionError(path + ": expected " + description + " but was <" + actual + ">");
+            }
+        }
+    }
+
+    private static final class Progress {
+        private final boolean[] checked;
+        private int remaining;
+
+        Progress(boolean[] checked) {
+            this.checked = checked;
+            this.remaining = checked.length;
+        }
+
+        void checked(Expectation expectation) {
+            if (!checked[expectation.id]) {
+                checked[expectation.id] = true;
+                remaining--;
+            }
+        }
+
+        boolean done() {
+            return remaining == 0;
+        }
+    }
+}
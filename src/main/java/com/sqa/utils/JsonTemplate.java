@@ -0,0 +1,287 @@
+package com.sqa.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.ByteString;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JSON document with {@code ?} placeholders, compiled once and bound to values per request:
+ * <pre>
+ * JsonTemplate issue = JsonTemplate.compile("{\"title\": ?, \"body\": ?}");
+ * gitHubService.postIssueTemplate(..., issue.bind(title, description));
+ * </pre>
+ * Compiling checks that the template is valid JSON, strips insignificant whitespace and keeps the
+ * constant parts as UTF-8 bytes. Binding only keeps the values; {@link Body#writeTo} writes the
+ * constant bytes and the escaped values straight into the request sink, with no intermediate
+ * {@code String}, buffer, map or bean introspection. Strings, numbers, booleans and {@code null} are
+ * written directly; any other value is handed to {@link Json#MAPPER} once, when it is bound.
+ * A {@code ?} inside a string literal is just a character.
+ */
+public final class JsonTemplate {
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=UTF-8");
+    private static final ByteString NULL = ByteString.encodeUtf8("null");
+    private static final ByteString TRUE = ByteString.encodeUtf8("true");
+    private static final ByteString FALSE = ByteString.encodeUtf8("false");
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final String template;
+    private final ByteString[] parts;
+
+    private JsonTemplate(String template, ByteString[] parts) {
+        this.template = template;
+        this.parts = parts;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the template is not valid JSON with every {@code ?}
+     *                                  replaced by a value
+     */
+    public static JsonTemplate compile(String template) {
+        List<ByteString> parts = new ArrayList<>();
+        StringBuilder part = new StringBuilder();
+        StringBuilder check = new StringBuilder();
+        boolean inString = false;
+        for (int i = 0; i < template.length(); i++) {
+            char c = template.charAt(i);
+            if (inString) {
+                part.append(c);
+                check.append(c);
+                if (c == '\\' && i + 1 < template.length()) {
+                    part.append(template.charAt(++i));
+                    check.append(template.charAt(i));
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == '?') {
+                parts.add(ByteString.encodeUtf8(part.toString()));
+                part.setLength(0);
+                check.append("null");
+            } else if (!Character.isWhitespace(c)) {
+                inString = c == '"';
+                part.append(c);
+                check.append(c);
+            }
+        }
+        parts.add(ByteString.encodeUtf8(part.toString()));
+        try {
+            Json.MAPPER.readTree(check.toString());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Not a JSON template: " + template, e);
+        }
+        return new JsonTemplate(template, parts.toArray(new ByteString[0]));
+    }
+
+    public int placeholders() {
+        return parts.length - 1;
+    }
+
+    /**
+     * @param values one value per placeholder, in order
+     */
+    public Body bind(Object... values) {
+        if (values.length != placeholders()) {
+            throw new IllegalArgumentException(
+                    "Template has " + placeholders() + " placeholders but got " + values.length + " values");
+        }
+        Object[] bound = new Object[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bound[i] = bindValue(values[i]);
+        }
+        return new Body(parts, bound);
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+
+    /**
+     * Keeps the values {@link #writeValue} writes directly and serializes anything else up front,
+     * so that a value Jackson cannot write fails the bind, not the call.
+     */
+    private static Object bindValue(Object value) {
+        if (value == null || value instanceof Boolean || value instanceof Long || value instanceof Integer
+                || value instanceof Short || value instanceof Byte) {
+            return value;
+        }
+        if (value instanceof CharSequence) {
+            return value.toString();
+        }
+        try {
+            return ByteString.of(Json.MAPPER.writeValueAsBytes(value));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot write " + value.getClass().getName() + " as JSON", e);
+        }
+    }
+
+    private static void writeValue(BufferedSink sink, Object value) throws IOException {
+        if (value == null) {
+            sink.write(NULL);
+        } else if (value instanceof String) {
+            writeString(sink, (String) value);
+        } else if (value instanceof Boolean) {
+            sink.write((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof ByteString) {
+            sink.write((ByteString) value);
+        } else {
+            sink.writeDecimalLong(((Number) value).longValue());
+        }
+    }
+
+    /**
+     * @return the number of bytes {@link #writeValue} writes for {@code value}
+     */
+    private static long valueLength(Object value) {
+        if (value == null) {
+            return NULL.size();
+        } else if (value instanceof String) {
+            return stringLength((String) value);
+        } else if (value instanceof Boolean) {
+            return (Boolean) value ? TRUE.size() : FALSE.size();
+        } else if (value instanceof ByteString) {
+            return ((ByteString) value).size();
+        }
+        long number = ((Number) value).longValue();
+        if (number == Long.MIN_VALUE) {
+            return 20;
+        }
+        int digits = number < 0 ? 2 : 1;
+        for (long rest = Math.abs(number); rest >= 10; rest /= 10) {
+            digits++;
+        }
+        return digits;
+    }
+
+    /**
+     * Quoted, escaped UTF-8 length of {@code value}, counted the way {@link BufferedSink#writeUtf8}
+     * encodes it: an unpaired surrogate becomes a single {@code ?}.
+     */
+    private static long stringLength(String value) {
+        long length = 2;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c >= 0x20 && c != '"' && c != '\\') {
+                    length += 1;
+                } else if (c == '"' || c == '\\' || c == '\n' || c == '\r' || c == '\t' || c == '\b' || c == '\f') {
+                    length += 2;
+                } else {
+                    length += 6;
+                }
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (c < 0xd800 || c > 0xdfff) {
+                length += 3;
+            } else {
+                char low = i + 1 < value.length() ? value.charAt(i + 1) : 0;
+                if (c > 0xdbff || low < 0xdc00 || low > 0xdfff) {
+                    length += 1;
+                } else {
+                    length += 4;
+                    i++;
+                }
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Writes a quoted JSON string, copying unescaped runs as they are.
+     */
+    private static void writeString(BufferedSink sink, String value) throws IOException {
+        sink.writeByte('"');
+        int run = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                continue;
+            }
+            sink.writeUtf8(value, run, i);
+            run = i + 1;
+            sink.writeByte('\\');
+            switch (c) {
+                case '"': sink.writeByte('"'); break;
+                case '\\': sink.writeByte('\\'); break;
+                case '\n': sink.writeByte('n'); break;
+                case '\r': sink.writeByte('r'); break;
+                case '\t': sink.writeByte('t'); break;
+                case '\b': sink.writeByte('b'); break;
+                case '\f': sink.writeByte('f'); break;
+                default:
+                    sink.writeByte('u').writeByte('0').writeByte('0')
+                            .writeByte(HEX[c >> 4]).writeByte(HEX[c & 0xf]);
+            }
+        }
+        sink.writeUtf8(value, run, value.length());
+        sink.writeByte('"');
+    }
+
+    /**
+     * Bound template, usable directly as a Retrofit {@code @Body}. Only the values are kept: every
+     * {@link #writeTo} renders them again, so the body can be written again on retries.
+     */
+    public static final class Body extends RequestBody {
+        private final ByteString[] parts;
+        private final Object[] values;
+        private long contentLength = -1;
+
+        private Body(ByteString[] parts, Object[] values) {
+            this.parts = parts;
+            this.values = values;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return JSON;
+        }
+
+        @Override
+        public long contentLength() {
+            if (contentLength == -1) {
+                long length = parts[0].size();
+                for (int i = 0; i < values.length; i++) {
+                    length += valueLength(values[i]) + parts[i + 1].size();
+                }
+                contentLength = length;
+            }
+            return contentLength;
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            sink.write(parts[0]);
+            for (int i = 0; i < values.length; i++) {
+                writeValue(sink, values[i]);
+                sink.write(parts[i + 1]);
+            }
+        }
+
+        public byte[] toByteArray() {
+            return render().readByteArray();
+        }
+
+        @Override
+        public String toString() {
+            return render().readUtf8();
+        }
+
+        private Buffer render() {
+            Buffer buffer = new Buffer();
+            try {
+                writeTo(buffer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return buffer;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.sqa.github;
+
+import com.sqa.services.ClientFactory;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Resets the hedge delays of the shared client before the class it is registered on, so that
+ * latencies learned against other servers earlier in the JVM do not decide when its calls are
+ * hedged. Registered with {@code @ExtendWith} only on the classes that call hedged methods through
+ * the shared client: resetting before every class would build the shared client for pure unit
+ * tests, wipe the latencies of classes still running under {@code -Pparallel}, and keep the hedge
+ * delay from ever reaching enough samples to follow the 95th percentile.
+ */
+public class HedgeDelayResetExtension implements BeforeAllCallback {
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        ClientFactory.resilience().resetHedgeDelays();
+    }
+}
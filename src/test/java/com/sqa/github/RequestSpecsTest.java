@@ -0,0 +1,79 @@
+package com.sqa.github;
+
+import io.restassured.specification.RequestSpecification;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RequestSpecsTest {
+
+    private static final int THREADS = 8;
+    private static final int REQUESTS = 40;
+
+    private final MockWebServer server = new MockWebServer();
+    // RestAssured 4.4 needs the deprecated HttpClient 4 pool, see RequestSpecs
+    @SuppressWarnings("deprecation")
+    private final org.apache.http.impl.conn.PoolingClientConnectionManager pool =
+            new org.apache.http.impl.conn.PoolingClientConnectionManager();
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        for (int i = 0; i < REQUESTS; i++) {
+            server.enqueue(new MockResponse().setBody("Keep it logically awesome."));
+        }
+        server.start();
+    }
+
+    @AfterEach
+    public void stopServer() throws IOException {
+        pool.shutdown();
+        server.shutdown();
+    }
+
+    @Test
+    public void concurrentRequestsShareThePool() throws Exception {
+        RequestSpecification spec = RequestSpecs.pooled(server.url("/").toString(), pool).build();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Integer>> codes = new ArrayList<>();
+        try {
+            for (int i = 0; i < REQUESTS; i++) {
+                codes.add(executor.submit(() -> given()
+                        .spec(spec)
+                        .get("/zen")
+                        .statusCode()));
+            }
+            for (Future<Integer> code : codes) {
+                assertEquals(200, code.get().intValue());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int connections = 0;
+        for (int i = 0; i < REQUESTS; i++) {
+            RecordedRequest request = server.takeRequest();
+            if (request.getSequenceNumber() == 0) {
+                connections++;
+            }
+        }
+        int opened = connections;
+        assertAll(
+                () -> assertTrue(opened <= THREADS, "opened " + opened + " connections"),
+                () -> assertEquals(0, pool.getTotalStats().getLeased()));
+    }
+}
@@ -0,0 +1,46 @@
+package com.sqa.github;
+
+import org.junit.platform.engine.discovery.ClassNameFilter;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+import java.io.PrintWriter;
+
+/**
+ * Runs the suites in this JVM, for the {@code fast-startup} Maven profile. Surefire 2.22 always
+ * puts {@code target/test-classes} on the classpath, and a class-data-sharing archive cannot be
+ * written or mapped while a non-empty directory is on it, so that profile runs this launcher from
+ * jars instead.
+ * <p>
+ * Arguments are class name patterns, e.g. {@code .*RetrofitDemoTest}; without arguments the
+ * classes surefire would pick are run. Exits with status 1 if any test failed.
+ */
+public final class SuiteLauncher {
+
+    private SuiteLauncher() {
+    }
+
+    public static void main(String[] args) {
+        LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request()
+                .selectors(DiscoverySelectors.selectPackage("com.sqa"))
+                .filters(ClassNameFilter.includeClassNamePatterns(
+                        args.length == 0 ? new String[]{ClassNameFilter.STANDARD_INCLUDE_PATTERN} : args))
+                .configurationParameter("junit.jupiter.extensions.autodetection.enabled", "true")
+                .build();
+        Launcher launcher = LauncherFactory.create();
+        SummaryGeneratingListener listener = new SummaryGeneratingListener();
+        launcher.execute(request, listener);
+
+        TestExecutionSummary summary = listener.getSummary();
+        PrintWriter out = new PrintWriter(System.out);
+        summary.printFailuresTo(out);
+        summary.printTo(out);
+        out.flush();
+        System.exit(summary.getTotalFailureCount() == 0 ? 0 : 1);
+    }
+}
@@ -0,0 +1,20 @@
+package com.sqa.github;
+
+import com.sqa.services.ClientFactory;
+import com.sqa.services.Endpoints;
+import com.sqa.services.Startup;
+import org.junit.jupiter.api.extension.Extension;
+
+/**
+ * Starts {@link Startup#warmUpInBackground} when JUnit loads its extensions, i.e. before the
+ * first test class is instantiated, if {@code -Dsqa.http.warmUp=true}. Registered through
+ * {@code META-INF/services} and picked up because surefire enables extension autodetection.
+ */
+public class WarmUpExtension implements Extension {
+
+    public WarmUpExtension() {
+        if (ClientFactory.settings().isWarmUp()) {
+            Startup.warmUpInBackground(Endpoints::gitHub, Endpoints::gorest);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.sqa.model.github;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.gson.Gson;
+import com.sqa.utils.IssueFixtures;
+import com.sqa.utils.Json;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IssueCodecTest {
+
+    private static final TypeReference<List<Issue>> ISSUE_LIST = new TypeReference<List<Issue>>() { };
+
+    @Test
+    public void decodesTypedFields() throws IOException {
+        List<Issue> issues = Json.MAPPER.readValue(IssueFixtures.issuesJsonBytes(12), ISSUE_LIST);
+        Issue issue = issues.get(11);
+
+        assertAll(
+                () -> assertEquals(1_000_000_012L, issue.getId()),
+                () -> assertEquals(12, issue.getNumber()),
+                () -> assertEquals("bug", issue.getLabels().get(0).getName()),
+                () -> assertTrue(issue.getLabels().get(0).isDefault()),
+                () -> assertEquals("ilyademchenko", issue.getAssignee().getLogin()),
+                () -> assertEquals(1, issue.getAssignees().size()),
+                () -> assertEquals("Sprint 1", issue.getMilestone().getTitle()),
+                () -> assertEquals(Instant.parse("2021-12-01T08:00:00Z"), issue.getMilestone().getDueOn()),
+                () -> assertEquals(Instant.parse("2021-10-22T10:15:30Z"), issue.getCreatedAt()),
+                () -> assertNull(issue.getClosedAt()),
+                () -> assertEquals(Instant.parse("2021-11-30T12:00:00Z"), issues.get(9).getClosedAt()),
+                () -> assertNull(issues.get(0).getMilestone()));
+    }
+
+    @Test
+    public void roundTripsThroughJackson() throws IOException {
+        List<Issue> decoded = Json.MAPPER.readValue(IssueFixtures.issuesJsonBytes(30), ISSUE_LIST);
+        byte[] encoded = Json.MAPPER.writeValueAsBytes(decoded);
+        byte[] reencoded = Json.MAPPER.writeValueAsBytes(Json.MAPPER.readValue(encoded, ISSUE_LIST));
+
+        assertArrayEquals(encoded, reencoded);
+    }
+
+    @Test
+    public void omitsDefaultsWhenWriting() throws IOException {
+        Issue issue = new Issue().setTitle("lux-training").setBody("Description of issue");
+
+        assertEquals("{\"title\":\"lux-training\",\"body\":\"Description of issue\"}",
+                Json.MAPPER.writeValueAsString(issue));
+    }
+
+    @Test
+    public void roundTripsInstantsOutsideGithubFormat() throws IOException {
+        Issue issue = new Issue()
+                .setCreatedAt(Instant.parse("1969-12-31T23:59:59Z"))
+                .setUpdatedAt(Instant.parse("2021-10-10T10:15:30.123Z"));
+
+        String json = Json.MAPPER.writeValueAsString(issue);
+        Issue decoded = Json.MAPPER.readValue(json, Issue.class);
+
+        assertAll(
+                () -> assertEquals("{\"created_at\":\"1969-12-31T23:59:59Z\",\"updated_at\":\"2021-10-10T10:15:30.123Z\"}", json),
+                () -> assertEquals(issue.getCreatedAt(), decoded.getCreatedAt()),
+                () -> assertEquals(issue.getUpdatedAt(), decoded.getUpdatedAt()));
+    }
+
+    @Test
+    public void readsTimestampsLikeInstantParse() throws IOException {
+        assertEquals(Instant.parse("2021-10-11T00:00:00Z"),
+                Json.MAPPER.readValue("{\"created_at\":\"2021-10-10T24:00:00Z\"}", Issue.class).getCreatedAt());
+        for (String time : new String[] {"25:00:00", "10:60:00", "10:15:99"}) {
+            String json = "{\"created_at\":\"2021-10-10T" + time + "Z\"}";
+            assertThrows(DateTimeParseException.class, () -> Instant.parse("2021-10-10T" + time + "Z"));
+            assertThrows(DateTimeParseException.class, () -> Json.MAPPER.readValue(json, Issue.class), json);
+        }
+    }
+
+    @Test
+    public void rejectsNonObject() {
+        assertThrows(JsonParseException.class, () -> Json.MAPPER.readValue("\"lux-training\"", Issue.class));
+    }
+
+    @Test
+    public void gsonWritesInstantsAsIsoStrings() {
+        Gson gson = new Gson();
+        Issue issue = new Issue().setCreatedAt(Instant.parse("2021-10-10T10:15:30Z"));
+
+        String json = gson.toJson(issue);
+
+        assertAll(
+                () -> assertTrue(json.contains("\"createdAt\":\"2021-10-10T10:15:30Z\""), json),
+                () -> assertEquals(issue.getCreatedAt(), gson.fromJson(json, Issue.class).getCreatedAt()));
+    }
+}
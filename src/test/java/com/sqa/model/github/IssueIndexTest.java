@@ -0,0 +1,115 @@
+package com.sqa.model.github;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.sqa.utils.IssueFixtures;
+import com.sqa.utils.Json;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IssueIndexTest {
+
+    private static final int ISSUES = 30;
+
+    private final List<Issue> issues;
+    private final IssueIndex index;
+
+    public IssueIndexTest() throws IOException {
+        this.issues = decode(ISSUES);
+        this.index = IssueIndex.of(issues);
+    }
+
+    @Test
+    public void looksUpByIdAndNumber() {
+        Issue twelfth = issues.get(11);
+
+        assertAll(
+                () -> assertEquals(ISSUES, index.size()),
+                () -> assertSame(twelfth, index.byId(twelfth.getId())),
+                () -> assertSame(twelfth, index.byNumber(12)),
+                () -> assertNull(index.byId(42L)),
+                () -> assertNull(index.byNumber(ISSUES + 1)));
+    }
+
+    @Test
+    public void looksUpByStateAndAuthor() {
+        List<Issue> closed = issues.stream().filter(issue -> "closed".equals(issue.getState())).collect(Collectors.toList());
+
+        assertAll(
+                () -> assertEquals(ISSUES / 5, closed.size()),
+                () -> assertEquals(closed, index.withState("closed")),
+                () -> assertEquals(ISSUES - closed.size(), index.withState("open").size()),
+                () -> assertEquals(issues, index.byAuthor(IssueFixtures.OWNER)),
+                () -> assertTrue(index.byAuthor("octocat").isEmpty()));
+    }
+
+    @Test
+    public void searchesTitleAndBodyWords() {
+        assertAll(
+                () -> assertEquals(ISSUES, index.search("description ISSUE").size()),
+                () -> assertEquals(Collections.singletonList(12), numbers(index.search("Lux-Training 12"))),
+                () -> assertEquals(Collections.singletonList(7), numbers(index.search("training, issue 7"))),
+                () -> assertTrue(index.search("lux-training Vladimir").isEmpty()),
+                () -> assertTrue(index.search(" - ").isEmpty()));
+    }
+
+    @Test
+    public void matchesWholeTitlesOnly() {
+        assertAll(
+                () -> assertEquals(Collections.singletonList(1), numbers(index.withTitle("lux-training 1"))),
+                () -> assertTrue(index.withTitle("lux-training").isEmpty()),
+                () -> assertTrue(index.withTitle("LUX-TRAINING 1").isEmpty()));
+    }
+
+    @Test
+    public void laterCopyOfRepeatedIssueWins() throws IOException {
+        List<Issue> shiftedPages = new ArrayList<>(issues.subList(0, 20));
+        List<Issue> secondFetch = decode(ISSUES);
+        Issue edited = secondFetch.get(15).setTitle("lux-training 16, edited").setState("closed");
+        shiftedPages.addAll(secondFetch.subList(15, ISSUES));
+
+        IssueIndex paged = IssueIndex.of(shiftedPages.iterator());
+
+        assertAll(
+                () -> assertEquals(ISSUES, paged.size()),
+                () -> assertEquals(numbers(issues), numbers(paged.issues())),
+                () -> assertSame(edited, paged.byId(edited.getId())),
+                () -> assertSame(edited, paged.byNumber(16)),
+                () -> assertEquals(Collections.singletonList(edited), paged.search("lux-training 16")),
+                () -> assertEquals(Collections.singletonList(edited), paged.search("edited")),
+                () -> assertEquals(ISSUES / 5 + 1, paged.withState("closed").size()),
+                () -> assertEquals(ISSUES, paged.byAuthor(IssueFixtures.OWNER).size()));
+    }
+
+    @Test
+    public void keepsIssuesWithoutIds() {
+        IssueIndex local = IssueIndex.of(Arrays.asList(
+                new Issue().setTitle("first local issue"),
+                new Issue().setTitle("second local issue")));
+
+        assertAll(
+                () -> assertEquals(2, local.size()),
+                () -> assertEquals(2, local.search("local issue").size()),
+                () -> assertEquals("second local issue", local.withTitle("second local issue").get(0).getTitle()),
+                () -> assertNull(local.byNumber(0)));
+    }
+
+    private static List<Issue> decode(int count) throws IOException {
+        return Json.MAPPER.readValue(IssueFixtures.issuesJsonBytes(count), new TypeReference<List<Issue>>() { });
+    }
+
+    private static List<Integer> numbers(List<Issue> issues) {
+        return issues.stream().map(Issue::getNumber).collect(Collectors.toList());
+    }
+}
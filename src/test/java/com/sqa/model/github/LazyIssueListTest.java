@@ -0,0 +1,62 @@
+package com.sqa.model.github;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.sqa.utils.IssueFixtures;
+import com.sqa.utils.Json;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LazyIssueListTest {
+
+    @Test
+    public void readsSameValuesAsEagerModel() throws IOException {
+        byte[] json = IssueFixtures.issuesJsonBytes(30);
+        List<Issue> eager = Json.MAPPER.readValue(json, new TypeReference<List<Issue>>() { });
+        LazyIssueList lazy = LazyIssueList.parse(json);
+
+        List<Executable> checks = new ArrayList<>();
+        checks.add(() -> assertEquals(eager.size(), lazy.size()));
+        for (int i = 0; i < eager.size(); i++) {
+            Issue expected = eager.get(i);
+            LazyIssue actual = lazy.get(i);
+            checks.add(() -> assertEquals(expected.getTitle(), actual.getTitle()));
+            checks.add(() -> assertEquals(expected.getBody(), actual.getBody()));
+            checks.add(() -> assertEquals(expected.getState(), actual.getState()));
+            checks.add(() -> assertEquals(expected.getNumber(), actual.getNumber()));
+            checks.add(() -> assertEquals(expected.getId(), actual.getId().longValue()));
+            checks.add(() -> assertEquals(expected.getClosedAt(), actual.getClosedAt()));
+            checks.add(() -> assertEquals(expected.getLabels().size(), actual.getLabels().size()));
+            checks.add(() -> assertEquals(expected.getUser().getLogin(), actual.getUserLogin()));
+            checks.add(() -> assertEquals(expected.getUser().getId(), actual.getUser().getId()));
+            checks.add(() -> assertEquals(expected.getTitle(), actual.toIssue().getTitle()));
+        }
+        assertAll(checks.stream());
+    }
+
+    @Test
+    public void sharesRepeatedStringsWithinList() throws IOException {
+        LazyIssueList lazy = LazyIssueList.parse(IssueFixtures.issuesJsonBytes(10));
+        LazyIssueList other = LazyIssueList.parse(IssueFixtures.issuesJsonBytes(10));
+
+        assertAll(
+                () -> assertSame(lazy.get(0).getState(), lazy.get(1).getState()),
+                () -> assertSame(lazy.get(0).getUserLogin(), lazy.get(7).getUserLogin()),
+                () -> assertSame(lazy.get(3), lazy.get(3)),
+                () -> assertNotSame(lazy.get(0).getState(), other.get(0).getState()));
+    }
+
+    @Test
+    public void rejectsNonArray() {
+        assertThrows(IOException.class, () -> LazyIssueList.parse(IssueFixtures.issueJson(1, "t", "b").getBytes()));
+    }
+}
@@ -0,0 +1,78 @@
+package com.sqa.services;
+
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.FileSystemResultsWriter;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import retrofit2.Retrofit;
+import retrofit2.converter.scalars.ScalarsConverterFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AllureStepInterceptorTest {
+
+    private static final StubServer STUB = new StubServer();
+
+    @TempDir
+    Path resultsDirectory;
+
+    @BeforeAll
+    public static void startStub() throws IOException {
+        STUB.start();
+    }
+
+    @AfterAll
+    public static void stopStub() throws IOException {
+        STUB.close();
+    }
+
+    @Test
+    public void reportsCallAsStepWithStreamedBody() throws IOException {
+        AllureLifecycle lifecycle = new AllureLifecycle(new FileSystemResultsWriter(resultsDirectory));
+        GitHubService service = new Retrofit.Builder()
+                .baseUrl(STUB.url())
+                .client(new OkHttpClient.Builder()
+                        .addInterceptor(new AllureStepInterceptor(lifecycle, resultsDirectory))
+                        .build())
+                .addConverterFactory(ScalarsConverterFactory.create())
+                .addConverterFactory(JacksonConverterFactory.create())
+                .build()
+                .create(GitHubService.class);
+
+        String testUuid = UUID.randomUUID().toString();
+        lifecycle.scheduleTestCase(new TestResult().setUuid(testUuid).setName("steps"));
+        lifecycle.startTestCase(testUuid);
+        String zen = service.getZen().execute().body();
+        service.getUsersIssues("token", "ilyademchenko").execute();
+        AtomicReference<TestResult> result = new AtomicReference<>();
+        lifecycle.updateTestCase(testUuid, result::set);
+        lifecycle.stopTestCase(testUuid);
+
+        StepResult zenStep = result.get().getSteps().get(0);
+        StepResult issuesStep = result.get().getSteps().get(1);
+        Attachment zenBody = zenStep.getAttachments().get(0);
+        assertAll(
+                () -> assertEquals(2, result.get().getSteps().size()),
+                () -> assertEquals("getZen", zenStep.getName()),
+                () -> assertEquals(zen, new String(
+                        Files.readAllBytes(resultsDirectory.resolve(zenBody.getSource())), StandardCharsets.UTF_8)),
+                () -> assertEquals("getUsersIssues", issuesStep.getName()),
+                () -> assertEquals("****", issuesStep.getParameters().get(0).getValue()),
+                () -> assertEquals("ilyademchenko", issuesStep.getParameters().get(1).getValue()),
+                () -> assertEquals("200", issuesStep.getParameters().get(2).getValue()));
+    }
+}
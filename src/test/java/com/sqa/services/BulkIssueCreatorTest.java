@@ -0,0 +1,204 @@
+package com.sqa.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sqa.model.github.Issue;
+import com.sqa.utils.IssueFixtures;
+import com.sqa.utils.Json;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BulkIssueCreatorTest {
+
+    private final MockWebServer server = new MockWebServer();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicInteger rateLimitedResponses = new AtomicInteger();
+    private final AtomicInteger disconnects = new AtomicInteger();
+    private GitHubAsyncService gitHubService;
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(20);
+                    if (disconnects.getAndDecrement() > 0) {
+                        return new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST);
+                    }
+                    if (rateLimitedResponses.getAndDecrement() > 0) {
+                        return new MockResponse().setResponseCode(403).setHeader("Retry-After", "1");
+                    }
+                    JsonNode body = Json.MAPPER.readTree(request.getBody().readUtf8());
+                    return new MockResponse()
+                            .setResponseCode(201)
+                            .setHeader("X-RateLimit-Remaining", "4999")
+                            .setHeader("X-RateLimit-Reset", System.currentTimeMillis() / 1000 + 3600)
+                            .setBody(IssueFixtures.issueJson(1, body.path("title").asText(), body.path("body").asText()));
+                } catch (IOException e) {
+                    return new MockResponse().setResponseCode(400);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            }
+        });
+        server.start();
+        gitHubService = ClientFactory.service(server.url("/").toString(), GitHubAsyncService.class);
+    }
+
+    @AfterEach
+    public void stopServer() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void createsEveryIssueWithBoundedConcurrency() throws InterruptedException {
+        List<BulkIssueCreator.Result> results = new ArrayList<>();
+        BulkIssueCreator creator = new BulkIssueCreator(gitHubService, "Bearer token", IssueFixtures.OWNER, 4, 1000);
+
+        BulkIssueCreator.Summary summary = creator.create(issues(20), results::add);
+
+        assertAll(
+                () -> assertEquals(20, summary.created()),
+                () -> assertEquals(0, summary.failed()),
+                () -> assertTrue(maxInFlight.get() <= 4, "max in flight " + maxInFlight.get()),
+                () -> assertEquals(IntStream.range(0, 20).boxed().collect(Collectors.toList()),
+                        results.stream().map(BulkIssueCreator.Result::index).sorted().collect(Collectors.toList())),
+                () -> assertTrue(results.stream()
+                        .allMatch(result -> result.created().getTitle().equals(result.request().getTitle()))));
+    }
+
+    @Test
+    public void pacesRequestsWithTokenBucket() throws InterruptedException {
+        BulkIssueCreator creator = new BulkIssueCreator(gitHubService, "Bearer token", IssueFixtures.OWNER, 2, 20);
+
+        long start = System.nanoTime();
+        creator.create(issues(10), result -> { });
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // two tokens of burst, then one every 50 ms
+        assertTrue(elapsedMillis >= 350, "elapsed " + elapsedMillis + "ms");
+    }
+
+    @Test
+    public void retriesAfterRateLimitResponse() throws InterruptedException {
+        rateLimitedResponses.set(1);
+        List<BulkIssueCreator.Result> results = new ArrayList<>();
+        BulkIssueCreator creator = new BulkIssueCreator(gitHubService, "Bearer token", IssueFixtures.OWNER, 1, 100);
+
+        long start = System.nanoTime();
+        BulkIssueCreator.Summary summary = creator.create(issues(2), results::add);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertAll(
+                () -> assertEquals(2, summary.created()),
+                () -> assertEquals(1, summary.retries()),
+                () -> assertEquals(2, results.get(0).attempts()),
+                () -> assertTrue(elapsedMillis >= 1000, "elapsed " + elapsedMillis + "ms"));
+    }
+
+    @Test
+    public void retriesConnectFailures() throws InterruptedException {
+        AtomicInteger refusals = new AtomicInteger(2);
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(chain -> {
+                    if (refusals.getAndDecrement() > 0) {
+                        throw new ConnectException("Connection refused");
+                    }
+                    return chain.proceed(chain.request());
+                })
+                .build();
+        GitHubAsyncService refusing = ClientFactory.newRetrofit(server.url("/").toString(), client)
+                .create(GitHubAsyncService.class);
+        List<BulkIssueCreator.Result> results = new ArrayList<>();
+        BulkIssueCreator creator = new BulkIssueCreator(refusing, "Bearer token", IssueFixtures.OWNER, 1, 100);
+
+        BulkIssueCreator.Summary summary = creator.create(issues(1), results::add);
+
+        assertAll(
+                () -> assertEquals(1, summary.created()),
+                () -> assertEquals(2, summary.retries()),
+                () -> assertEquals(3, results.get(0).attempts()),
+                () -> assertEquals(1, server.getRequestCount()));
+    }
+
+    @Test
+    public void doesNotResendPostThatMayHaveArrived() throws InterruptedException {
+        disconnects.set(1);
+        List<BulkIssueCreator.Result> results = new ArrayList<>();
+        BulkIssueCreator creator = new BulkIssueCreator(gitHubService, "Bearer token", IssueFixtures.OWNER, 1, 100);
+
+        BulkIssueCreator.Summary summary = creator.create(issues(1), results::add);
+
+        assertAll(
+                () -> assertEquals(0, summary.created()),
+                () -> assertEquals(1, summary.failed()),
+                () -> assertEquals(0, summary.retries()),
+                () -> assertEquals(1, results.get(0).attempts()),
+                () -> assertTrue(results.get(0).error() instanceof IOException, "error " + results.get(0).error()),
+                () -> assertEquals(1, server.getRequestCount()));
+    }
+
+    @Test
+    public void interruptCancelsCallsInFlight() throws Exception {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setResponseCode(201).setHeadersDelay(2, TimeUnit.SECONDS);
+            }
+        });
+        List<BulkIssueCreator.Result> results = new CopyOnWriteArrayList<>();
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        BulkIssueCreator creator = new BulkIssueCreator(gitHubService, "Bearer token", IssueFixtures.OWNER, 2, 100);
+        Thread creating = new Thread(() -> {
+            try {
+                creator.create(issues(4), results::add);
+            } catch (Throwable e) {
+                thrown.set(e);
+            }
+        });
+
+        creating.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (server.getRequestCount() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        creating.interrupt();
+        creating.join(1_000);
+        Thread.sleep(2_500);
+
+        assertAll(
+                () -> assertTrue(thrown.get() instanceof InterruptedException, "thrown " + thrown.get()),
+                () -> assertTrue(results.isEmpty(), "results " + results.size()),
+                () -> assertEquals(2, server.getRequestCount()));
+    }
+
+    private static Stream<Issue> issues(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(n -> new Issue().setTitle("lux-training " + n).setBody("Description of issue"));
+    }
+}
@@ -0,0 +1,237 @@
+package com.sqa.services;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import retrofit2.Retrofit;
+import retrofit2.converter.scalars.ScalarsConverterFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CoalescingInterceptorTest {
+
+    private static final int CALLERS = 8;
+
+    private final MockWebServer server = new MockWebServer();
+    private final CoalescingInterceptor coalescing = new CoalescingInterceptor();
+    private final OkHttpClient client;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    public CoalescingInterceptorTest() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequestsPerHost(CALLERS);
+        this.client = new OkHttpClient.Builder().dispatcher(dispatcher).addInterceptor(coalescing).build();
+    }
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        server.setDispatcher(new okhttp3.mockwebserver.Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                release.await(10, TimeUnit.SECONDS);
+                return new MockResponse().setBody(request.getPath() + " for " + request.getHeader("Authorization"));
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    public void stopServer() throws IOException {
+        release.countDown();
+        server.shutdown();
+    }
+
+    @Test
+    public void overlappingIdenticalGetsShareOneCall() throws Exception {
+        List<CompletableFuture<String>> bodies = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            bodies.add(CompletableFuture.supplyAsync(() -> get("/zen", "Bearer a")));
+        }
+        awaitRequests(coalescing::requestCount, CALLERS);
+        release.countDown();
+
+        for (CompletableFuture<String> body : bodies) {
+            assertEquals("/zen for Bearer a", body.get(10, TimeUnit.SECONDS));
+        }
+        assertAll(
+                () -> assertEquals(1, server.getRequestCount()),
+                () -> assertEquals(CALLERS - 1, coalescing.coalescedCount()),
+                () -> assertEquals((double) (CALLERS - 1) / CALLERS, coalescing.coalesceRatio(), 1e-9));
+    }
+
+    @Test
+    public void differentCredentialsAreNotCoalesced() throws Exception {
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> get("/zen", "Bearer a"));
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> get("/zen", "Bearer b"));
+        awaitRequests(coalescing::requestCount, 2);
+        release.countDown();
+
+        assertAll(
+                () -> assertEquals("/zen for Bearer a", first.get(10, TimeUnit.SECONDS)),
+                () -> assertEquals("/zen for Bearer b", second.get(10, TimeUnit.SECONDS)),
+                () -> assertEquals(2, server.getRequestCount()),
+                () -> assertEquals(0, coalescing.coalescedCount()));
+    }
+
+    @Test
+    public void waitingCallsEndWithTimeoutOrCancel() throws Exception {
+        Request zen = new Request.Builder().url(server.url("/zen")).header("Authorization", "Bearer a").build();
+        CompletableFuture<Throwable> leader = enqueue(client.newCall(zen));
+        awaitRequests(server::getRequestCount, 1);
+        OkHttpClient impatient = client.newBuilder().readTimeout(200, TimeUnit.MILLISECONDS).build();
+        CompletableFuture<Throwable> timedOut = enqueue(impatient.newCall(zen));
+        Call canceled = client.newCall(zen);
+        CompletableFuture<Throwable> cancelFailure = enqueue(canceled);
+        awaitRequests(coalescing::requestCount, 3);
+
+        canceled.cancel();
+
+        assertAll(
+                () -> assertTrue(cancelFailure.get(2, TimeUnit.SECONDS) instanceof IOException, "canceled"),
+                () -> assertTrue(timedOut.get(2, TimeUnit.SECONDS) instanceof InterruptedIOException, "timed out"),
+                () -> assertFalse(leader.isDone(), "leader done"));
+        release.countDown();
+        assertNull(leader.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void hedgedAttemptsAreNotCoalesced() throws Exception {
+        Request hedge = new Request.Builder()
+                .url(server.url("/zen"))
+                .tag(ResilienceInterceptor.HedgeAttempt.class, ResilienceInterceptor.HedgeAttempt.INSTANCE)
+                .build();
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> execute(hedge));
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> execute(hedge));
+        awaitRequests(server::getRequestCount, 2);
+        release.countDown();
+
+        assertAll(
+                () -> assertEquals(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS)),
+                () -> assertEquals(0, coalescing.requestCount()));
+    }
+
+    @Test
+    public void sequentialGetsGoToTheWire() throws Exception {
+        release.countDown();
+
+        get("/zen", "Bearer a");
+        get("/zen", "Bearer a");
+
+        assertAll(
+                () -> assertEquals(2, server.getRequestCount()),
+                () -> assertEquals(2, coalescing.requestCount()),
+                () -> assertEquals(0, coalescing.coalescedCount()));
+    }
+
+    @Test
+    public void loneGetKeepsStreaming() throws Exception {
+        server.setDispatcher(new okhttp3.mockwebserver.Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse()
+                        .setBody(new Buffer().write(new byte[64 * 1024]))
+                        .throttleBody(1024, 100, TimeUnit.MILLISECONDS);
+            }
+        });
+
+        long start = System.nanoTime();
+        try (Response response = client.newCall(new Request.Builder().url(server.url("/zen")).build()).execute()) {
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            assertAll(
+                    () -> assertTrue(elapsedMillis < 2_000, "headers after " + elapsedMillis + "ms"),
+                    () -> assertEquals(1, coalescing.requestCount()));
+        }
+    }
+
+    @Test
+    public void streamingMethodsAreNotCoalesced() throws Exception {
+        GitHubService gitHubService = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(client)
+                .addConverterFactory(ScalarsConverterFactory.create())
+                .build()
+                .create(GitHubService.class);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> page(gitHubService));
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> page(gitHubService));
+        awaitRequests(server::getRequestCount, 2);
+        release.countDown();
+
+        assertAll(
+                () -> assertEquals(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS)),
+                () -> assertEquals(2, server.getRequestCount()),
+                () -> assertEquals(0, coalescing.requestCount()));
+    }
+
+    private static String page(GitHubService gitHubService) {
+        try (ResponseBody body = gitHubService.getUsersIssuesPage("Bearer a", "ilyademchenko",
+                Collections.<String, String>emptyMap()).execute().body()) {
+            return body.string();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Completes with the call's failure, or {@code null} once its body is read. */
+    private static CompletableFuture<Throwable> enqueue(Call call) {
+        CompletableFuture<Throwable> failure = new CompletableFuture<>();
+        call.enqueue(new Callback() {
+            @Override
+            public void onResponse(Call call, Response response) throws IOException {
+                try (ResponseBody body = response.body()) {
+                    body.string();
+                }
+                failure.complete(null);
+            }
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                failure.complete(e);
+            }
+        });
+        return failure;
+    }
+
+    private static void awaitRequests(LongSupplier requests, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (requests.getAsLong() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private String get(String path, String authorization) {
+        return execute(new Request.Builder().url(server.url(path)).header("Authorization", authorization).build());
+    }
+
+    private String execute(Request request) {
+        try (Response response = client.newCall(request).execute()) {
+            return response.body().string();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.sqa.services;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okio.Buffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import retrofit2.Retrofit;
+import retrofit2.converter.scalars.ScalarsConverterFactory;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ConditionalCacheInterceptorTest {
+
+    private final MockWebServer server = new MockWebServer();
+    private final ConditionalCacheInterceptor cache = new ConditionalCacheInterceptor(1);
+    private final OkHttpClient client = new OkHttpClient.Builder().addInterceptor(cache).build();
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        server.start();
+    }
+
+    @AfterEach
+    public void stopServer() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void servesNotModifiedFromMemory() throws Exception {
+        server.enqueue(new MockResponse().setHeader("ETag", "\"v1\"").setBody("Keep it logically awesome."));
+        server.enqueue(new MockResponse().setResponseCode(304));
+
+        String first = get("/zen");
+        String second = get("/zen");
+
+        assertAll(
+                () -> assertEquals("Keep it logically awesome.", first),
+                () -> assertEquals(first, second),
+                () -> assertNull(server.takeRequest().getHeader("If-None-Match")),
+                () -> assertEquals("\"v1\"", server.takeRequest().getHeader("If-None-Match")),
+                () -> assertEquals(1, cache.hitCount()),
+                () -> assertEquals(1, cache.missCount()));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedEntry() throws Exception {
+        server.enqueue(new MockResponse().setHeader("ETag", "\"zen\"").setBody("zen"));
+        server.enqueue(new MockResponse().setHeader("ETag", "\"defunkt\"").setBody("defunkt"));
+        server.enqueue(new MockResponse().setBody("zen again"));
+
+        get("/zen");
+        get("/users/defunkt");
+        get("/zen");
+
+        server.takeRequest();
+        server.takeRequest();
+        assertAll(
+                () -> assertNull(server.takeRequest().getHeader("If-None-Match")),
+                () -> assertEquals(1, cache.evictionCount()),
+                () -> assertEquals(3, cache.missCount()));
+    }
+
+    @Test
+    public void keepsRepresentationsPerAcceptHeader() throws Exception {
+        server.enqueue(new MockResponse().setHeader("ETag", "\"json\"").setBody("{\"login\":\"defunkt\"}"));
+        server.enqueue(new MockResponse().setHeader("ETag", "\"html\"").setBody("<p>defunkt</p>"));
+        server.enqueue(new MockResponse().setResponseCode(304));
+
+        ConditionalCacheInterceptor twoEntries = new ConditionalCacheInterceptor(2);
+        OkHttpClient client = new OkHttpClient.Builder().addInterceptor(twoEntries).build();
+        String json = get(client, "/users/defunkt", "application/json");
+        String html = get(client, "/users/defunkt", "text/html");
+        String jsonAgain = get(client, "/users/defunkt", "application/json");
+
+        assertAll(
+                () -> assertEquals("<p>defunkt</p>", html),
+                () -> assertEquals(json, jsonAgain),
+                () -> assertNull(server.takeRequest().getHeader("If-None-Match")),
+                () -> assertNull(server.takeRequest().getHeader("If-None-Match")),
+                () -> assertEquals("\"json\"", server.takeRequest().getHeader("If-None-Match")),
+                () -> assertEquals(1, twoEntries.hitCount()),
+                () -> assertEquals(2, twoEntries.size()));
+    }
+
+    @Test
+    public void passesLargeBodyWithoutLengthThrough() throws Exception {
+        byte[] large = new byte[ConditionalCacheInterceptor.MAX_ENTRY_BYTES + 1];
+        server.enqueue(new MockResponse().setHeader("ETag", "\"large\"").setChunkedBody(new Buffer().write(large), 64 * 1024));
+
+        try (Response response = client.newCall(new Request.Builder().url(server.url("/large")).build()).execute()) {
+            assertAll(
+                    () -> assertEquals(-1, response.body().contentLength()),
+                    () -> assertEquals(large.length, response.body().bytes().length),
+                    () -> assertEquals(0, cache.size()));
+        }
+    }
+
+    @Test
+    public void doesNotCacheStreamingMethods() throws Exception {
+        server.enqueue(new MockResponse().setHeader("ETag", "\"page\"").setBody("[]"));
+        GitHubService gitHubService = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(client)
+                .addConverterFactory(ScalarsConverterFactory.create())
+                .build()
+                .create(GitHubService.class);
+
+        try (ResponseBody body = gitHubService.getUsersIssuesPage("Bearer a", "ilyademchenko",
+                Collections.<String, String>emptyMap()).execute().body()) {
+            assertEquals("[]", body.string());
+        }
+
+        assertAll(
+                () -> assertEquals(0, cache.size()),
+                () -> assertEquals(0, cache.missCount()));
+    }
+
+    private String get(String path) throws IOException {
+        return get(client, path, null);
+    }
+
+    private String get(OkHttpClient client, String path, String accept) throws IOException {
+        Request.Builder request = new Request.Builder().url(server.url(path));
+        if (accept != null) {
+            request.header("Accept", accept);
+        }
+        try (Response response = client.newCall(request.build()).execute()) {
+            return response.body().string();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.sqa.services;
+
+/**
+ * Base URLs of the services under test. With {@code -Dsqa.stub=true} both point to the local
+ * {@link StubServer} instead of the real hosts.
+ */
+public final class Endpoints {
+
+    public static final String GIT_HUB_URL = "https://api.github.com/";
+    public static final String GOREST_URL = "https://gorest.co.in/";
+
+    private Endpoints() {
+    }
+
+    public static boolean stubbed() {
+        return Boolean.getBoolean("sqa.stub");
+    }
+
+    public static String gitHub() {
+        return stubbed() ? StubServer.shared().url() : GIT_HUB_URL;
+    }
+
+    public static String gorest() {
+        return stubbed() ? StubServer.shared().url() : GOREST_URL;
+    }
+}
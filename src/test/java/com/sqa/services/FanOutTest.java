@@ -0,0 +1,108 @@
+package com.sqa.services;
+
+import com.sqa.model.github.Issue;
+import com.sqa.utils.IssueFixtures;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import retrofit2.HttpException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FanOutTest {
+
+    private static final long DELAY_MILLIS = 300;
+    private static final List<String> USERS = Arrays.asList("ilyademchenko", "defunkt", "octocat", "unknown");
+
+    private final MockWebServer server = new MockWebServer();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private GitHubAsyncService gitHubService;
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                Thread.sleep(DELAY_MILLIS);
+                inFlight.decrementAndGet();
+                String user = request.getPath().split("/")[2];
+                return "unknown".equals(user) && request.getHeader("Authorization").contains("strict")
+                        ? new MockResponse().setResponseCode(404)
+                        : new MockResponse().setBody('[' + IssueFixtures.issueJson(USERS.indexOf(user) + 1, user, "body") + ']');
+            }
+        });
+        server.start();
+        gitHubService = ClientFactory.service(server.url("/").toString(), GitHubAsyncService.class);
+    }
+
+    @AfterEach
+    public void stopServer() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void takesAboutAsLongAsTheSlowestCall() throws Exception {
+        FanOut.await(gitHubService.getUsersIssues("Bearer token", USERS.get(0)));
+
+        long start = System.nanoTime();
+        List<List<Issue>> issues = FanOut.await(FanOut.all(USERS, USERS.size(),
+                user -> gitHubService.getUsersIssues("Bearer token", user)));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertAll(
+                () -> assertEquals(USERS, issues.stream()
+                        .map(list -> list.get(0).getTitle())
+                        .collect(Collectors.toList())),
+                () -> assertEquals(USERS.size(), maxInFlight.get()),
+                () -> assertTrue(elapsedMillis < 2 * DELAY_MILLIS, "elapsed " + elapsedMillis + "ms"));
+    }
+
+    @Test
+    public void boundsCallsInFlight() throws Exception {
+        List<Integer> sizes = FanOut.await(FanOut.all(USERS, 2,
+                user -> gitHubService.getUsersIssues("Bearer token", user).thenApply(List::size)));
+
+        assertAll(
+                () -> assertEquals(Arrays.asList(1, 1, 1, 1), sizes),
+                () -> assertEquals(2, maxInFlight.get()),
+                () -> assertEquals(USERS.size(), server.getRequestCount()));
+    }
+
+    @Test
+    public void failsWithFirstError() {
+        CompletableFuture<List<List<Issue>>> all = FanOut.all(USERS, 1,
+                user -> gitHubService.getUsersIssues("Bearer strict", user));
+
+        HttpException error = assertThrows(HttpException.class, () -> FanOut.await(all));
+        assertEquals(404, error.code());
+    }
+
+    @Test
+    public void completesSynchronousCallsWithoutRecursion() throws Exception {
+        List<Integer> inputs = IntStream.range(0, 100_000).boxed().collect(Collectors.toList());
+
+        List<Integer> results = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> FanOut.await(FanOut.all(inputs, 4, CompletableFuture::completedFuture)));
+
+        assertEquals(inputs, results);
+    }
+}
@@ -0,0 +1,69 @@
+package com.sqa.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sqa.utils.Json;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import retrofit2.Retrofit;
+import retrofit2.converter.scalars.ScalarsConverterFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HttpMetricsTest {
+
+    private static final StubServer STUB = new StubServer();
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    public static void startStub() throws IOException {
+        STUB.start();
+    }
+
+    @AfterAll
+    public static void stopStub() throws IOException {
+        STUB.close();
+    }
+
+    @Test
+    public void aggregatesCallsByPathTemplate() throws IOException {
+        HttpMetrics metrics = new HttpMetrics();
+        GitHubService service = new Retrofit.Builder()
+                .baseUrl(STUB.url())
+                .client(new OkHttpClient.Builder()
+                        .eventListenerFactory(MetricsEventListener.factory(metrics))
+                        .build())
+                .addConverterFactory(ScalarsConverterFactory.create())
+                .addConverterFactory(JacksonConverterFactory.create())
+                .build()
+                .create(GitHubService.class);
+
+        service.getUsersIssues("token", "ilyademchenko").execute();
+        service.getUsersIssues("token", "defunkt").execute();
+        service.getZen().execute();
+
+        HttpMetrics.Endpoint issues = metrics.endpoint("GET " + GitHubService.ISSUES_ENDPOINT_PATH);
+        Path file = directory.resolve("http-metrics.json");
+        metrics.writeJson(file);
+        JsonNode json = Json.MAPPER.readTree(Files.readAllBytes(file));
+        assertAll(
+                () -> assertEquals(2, issues.calls()),
+                () -> assertEquals(0, issues.failures()),
+                () -> assertTrue(issues.responseBytes() > 0),
+                () -> assertEquals(2, issues.timings(HttpMetrics.Phase.TOTAL).getTotalCount()),
+                () -> assertEquals(2, issues.timings(HttpMetrics.Phase.TTFB).getTotalCount()),
+                () -> assertEquals(1, metrics.endpoint("GET zen").calls()),
+                () -> assertEquals(2, json.path("GET repos/{user}/rest/issues").path("calls").asInt()),
+                () -> assertTrue(json.path("GET zen").path("total").has("p99Ms")));
+    }
+}
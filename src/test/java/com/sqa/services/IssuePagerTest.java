@@ -0,0 +1,80 @@
+package com.sqa.services;
+
+import com.sqa.model.github.Issue;
+import com.sqa.utils.IssueFixtures;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class IssuePagerTest {
+
+    private final MockWebServer server = new MockWebServer();
+    private GitHubService gitHubService;
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        server.start();
+        gitHubService = ClientFactory.service(server.url("/").toString(), GitHubService.class);
+    }
+
+    @AfterEach
+    public void stopServer() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void followsNextLinksUntilLastPage() throws InterruptedException {
+        server.enqueue(page(IssueFixtures.issuesJson(3), server.url("/page2").toString()));
+        server.enqueue(page(IssueFixtures.issuesJson(2), server.url("/page3").toString()));
+        server.enqueue(page(IssueFixtures.issuesJson(1), null));
+
+        List<String> titles;
+        try (Stream<Issue> issues = IssuePager.stream(gitHubService, "Bearer token", "ilyademchenko")) {
+            titles = issues.map(Issue::getTitle).collect(Collectors.toList());
+        }
+
+        RecordedRequest first = server.takeRequest();
+        assertAll(
+                () -> assertEquals(6, titles.size()),
+                () -> assertEquals("lux-training 3", titles.get(2)),
+                () -> assertEquals("lux-training 1", titles.get(5)),
+                () -> assertEquals("/repos/ilyademchenko/rest/issues", first.getPath()),
+                () -> assertEquals("Bearer token", first.getHeader("Authorization")),
+                () -> assertEquals("/page2", server.takeRequest().getPath()),
+                () -> assertEquals("/page3", server.takeRequest().getPath()));
+    }
+
+    @Test
+    public void parsesNextLinkAmongOtherRelations() {
+        String header = "<https://api.github.com/repositories/1/issues?page=1>; rel=\"prev\", "
+                + "<https://api.github.com/repositories/1/issues?page=3>; rel=\"next\", "
+                + "<https://api.github.com/repositories/1/issues?page=9>; rel=\"last\"";
+
+        assertAll(
+                () -> assertEquals("https://api.github.com/repositories/1/issues?page=3", IssuePager.nextLink(header)),
+                () -> assertNull(IssuePager.nextLink("<https://api.github.com/x?page=1>; rel=\"prev\"")),
+                () -> assertNull(IssuePager.nextLink(null)));
+    }
+
+    private static MockResponse page(String body, String next) {
+        MockResponse response = new MockResponse()
+                .setHeader("Content-Type", "application/json; charset=utf-8")
+                .setBody(body);
+        if (next != null) {
+            response.setHeader("Link", "<" + next + ">; rel=\"next\"");
+        }
+        return response;
+    }
+}
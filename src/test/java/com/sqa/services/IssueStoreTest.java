@@ -0,0 +1,92 @@
+package com.sqa.services;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.sqa.model.github.Issue;
+import com.sqa.utils.IssueFixtures;
+import com.sqa.utils.Json;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IssueStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void keepsNewestVersionAcrossReopen() throws IOException {
+        Path file = directory.resolve("issues.log");
+        List<Issue> issues = issues(3);
+        Instant closed = Instant.parse("2021-12-01T10:00:00Z");
+
+        try (IssueStore store = IssueStore.open(file)) {
+            for (Issue issue : issues) {
+                assertTrue(store.put(issue));
+            }
+            assertFalse(store.put(issues.get(1)));
+            assertTrue(store.put(issues.get(1).setState("closed").setUpdatedAt(closed)));
+            assertEquals("closed", store.get(issues.get(1).getId()).getState());
+        }
+
+        try (IssueStore store = IssueStore.open(file)) {
+            assertAll(
+                    () -> assertEquals(3, store.size()),
+                    () -> assertEquals(closed, store.lastUpdatedAt()),
+                    () -> assertEquals("closed", store.get(issues.get(1).getId()).getState()),
+                    () -> assertEquals(titles(issues), titles(store.all())),
+                    () -> assertEquals(issues.get(2).getNumber(), store.index().byNumber(3).getNumber()),
+                    () -> assertNull(store.get(42L)));
+        }
+    }
+
+    @Test
+    public void dropsRecordCutShort() throws IOException {
+        Path file = directory.resolve("issues.log");
+        List<Issue> issues = issues(3);
+        try (IssueStore store = IssueStore.open(file)) {
+            store.put(issues.get(0));
+            store.put(issues.get(1));
+        }
+        long intact = Files.size(file);
+        Files.write(file, new byte[]{0, 0, 4, 0, 0, 0, 0, 0, 0, 0, 0, 7}, StandardOpenOption.APPEND);
+
+        try (IssueStore store = IssueStore.open(file)) {
+            assertEquals(intact, Files.size(file));
+            store.put(issues.get(2));
+            assertAll(
+                    () -> assertEquals(3, store.size()),
+                    () -> assertEquals(titles(issues), titles(store.all())));
+        }
+    }
+
+    @Test
+    public void emptyStoreHasNoWatermark() throws IOException {
+        try (IssueStore store = IssueStore.open(directory.resolve("nested/issues.log"))) {
+            assertAll(
+                    () -> assertEquals(0, store.size()),
+                    () -> assertNull(store.lastUpdatedAt()),
+                    () -> assertTrue(store.all().isEmpty()));
+        }
+    }
+
+    static List<Issue> issues(int count) throws IOException {
+        return Json.MAPPER.readValue(IssueFixtures.issuesJsonBytes(count), new TypeReference<List<Issue>>() { });
+    }
+
+    private static List<String> titles(List<Issue> issues) {
+        return issues.stream().map(Issue::getTitle).collect(Collectors.toList());
+    }
+}
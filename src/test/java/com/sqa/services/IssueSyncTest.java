@@ -0,0 +1,100 @@
+package com.sqa.services;
+
+import com.sqa.model.github.Issue;
+import com.sqa.utils.Json;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class IssueSyncTest {
+
+    private final MockWebServer server = new MockWebServer();
+    private GitHubService gitHubService;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        server.start();
+        gitHubService = ClientFactory.service(server.url("/").toString(), GitHubService.class);
+    }
+
+    @AfterEach
+    public void stopServer() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void pullsOnlyIssuesUpdatedSinceLastSync() throws Exception {
+        List<Issue> issues = IssueStoreTest.issues(5);
+        server.enqueue(page(issues.subList(0, 3), server.url("/page2").toString()));
+        server.enqueue(page(issues.subList(3, 5), null));
+        Issue newest = issues.get(4);
+        Issue edited = issues.get(1).setTitle("lux-training 2, edited").setUpdatedAt(Instant.parse("2021-12-01T10:00:00Z"));
+        server.enqueue(page(Arrays.asList(newest, edited), null));
+
+        try (IssueStore store = IssueStore.open(directory.resolve("issues.log"))) {
+            IssueSync sync = new IssueSync(gitHubService, "Bearer token", "ilyademchenko", store);
+            IssueSync.Result full = sync.sync();
+            IssueSync.Result incremental = sync.sync();
+
+            RecordedRequest first = server.takeRequest();
+            server.takeRequest();
+            RecordedRequest repeat = server.takeRequest();
+            assertAll(
+                    () -> assertNull(full.since()),
+                    () -> assertEquals(5, full.fetched()),
+                    () -> assertEquals(5, full.stored()),
+                    () -> assertEquals("all", first.getRequestUrl().queryParameter("state")),
+                    () -> assertNull(first.getRequestUrl().queryParameter("since")),
+                    () -> assertEquals(newest.getUpdatedAt(), incremental.since()),
+                    () -> assertEquals(newest.getUpdatedAt().toString(), repeat.getRequestUrl().queryParameter("since")),
+                    () -> assertEquals(2, incremental.fetched()),
+                    () -> assertEquals(1, incremental.stored()),
+                    () -> assertEquals(5, store.size()),
+                    () -> assertEquals("lux-training 2, edited", store.get(edited.getId()).getTitle()),
+                    () -> assertEquals(edited.getUpdatedAt(), store.lastUpdatedAt()));
+        }
+    }
+
+    @Test
+    public void failedPageKeepsIssuesStoredSoFar() throws IOException {
+        server.enqueue(page(IssueStoreTest.issues(2), server.url("/page2").toString()));
+        server.enqueue(new MockResponse().setResponseCode(404));
+
+        try (IssueStore store = IssueStore.open(directory.resolve("issues.log"))) {
+            IssueSync sync = new IssueSync(gitHubService, "Bearer token", "ilyademchenko", store);
+
+            assertThrows(IOException.class, sync::sync);
+            assertAll(
+                    () -> assertEquals(2, store.size()),
+                    () -> assertEquals("lux-training 2", store.index().byNumber(2).getTitle()));
+        }
+    }
+
+    private static MockResponse page(List<Issue> issues, String next) throws IOException {
+        MockResponse response = new MockResponse()
+                .setHeader("Content-Type", "application/json; charset=utf-8")
+                .setBody(Json.MAPPER.writeValueAsString(issues));
+        if (next != null) {
+            response.setHeader("Link", "<" + next + ">; rel=\"next\"");
+        }
+        return response;
+    }
+}
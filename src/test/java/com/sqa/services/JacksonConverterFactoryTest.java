@@ -0,0 +1,75 @@
+package com.sqa.services;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.sqa.model.github.Issue;
+import com.sqa.utils.IssueFixtures;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.Test;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class JacksonConverterFactoryTest {
+
+    private static final Type ISSUE_LIST = new TypeToken<List<Issue>>() { }.getType();
+    private static final MediaType JSON = MediaType.get("application/json");
+    private static final int ISSUES = 5_000;
+
+    private final Retrofit retrofit = new Retrofit.Builder().baseUrl("https://api.github.com/").build();
+    private final byte[] payload = IssueFixtures.issuesJsonBytes(ISSUES);
+
+    @Test
+    public void jacksonKeepsSnakeCaseFieldsThatGsonDrops() throws IOException {
+        List<Issue> jacksonIssues = decode(JacksonConverterFactory.create());
+        List<Issue> gsonIssues = decode(GsonConverterFactory.create(new GsonBuilder().setLenient().create()));
+
+        assertAll(
+                () -> assertEquals(ISSUES, jacksonIssues.size()),
+                () -> assertEquals(ISSUES, gsonIssues.size()),
+                () -> assertEquals(gsonIssues.get(42).getTitle(), jacksonIssues.get(42).getTitle()),
+                () -> assertEquals("I_kwDOGZ2b", jacksonIssues.get(42).getNodeId()),
+                () -> assertNull(gsonIssues.get(42).getNodeId()),
+                () -> assertEquals("ilyademchenko", jacksonIssues.get(42).getUser().getLogin()),
+                () -> assertNull(gsonIssues.get(42).getUser().getAvatarUrl()));
+    }
+
+    @Test
+    public void decodesFieldsGsonKnowsTheSameWay() throws IOException {
+        List<Issue> jacksonIssues = decode(JacksonConverterFactory.create());
+        List<Issue> gsonIssues = decode(GsonConverterFactory.create(new GsonBuilder().setLenient().create()));
+
+        for (int i = 0; i < ISSUES; i++) {
+            Issue jackson = jacksonIssues.get(i);
+            Issue gson = gsonIssues.get(i);
+            String issue = "issue " + i;
+            assertAll(issue,
+                    () -> assertEquals(gson.getUrl(), jackson.getUrl()),
+                    () -> assertEquals(gson.getId(), jackson.getId()),
+                    () -> assertEquals(gson.getNumber(), jackson.getNumber()),
+                    () -> assertEquals(gson.getTitle(), jackson.getTitle()),
+                    () -> assertEquals(gson.getState(), jackson.getState()),
+                    () -> assertEquals(gson.isLocked(), jackson.isLocked()),
+                    () -> assertEquals(gson.getComments(), jackson.getComments()),
+                    () -> assertEquals(gson.getBody(), jackson.getBody()),
+                    () -> assertEquals(gson.getUser().getLogin(), jackson.getUser().getLogin()));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Issue> decode(Converter.Factory factory) throws IOException {
+        Converter<ResponseBody, ?> converter =
+                factory.responseBodyConverter(ISSUE_LIST, new Annotation[0], retrofit);
+        return (List<Issue>) converter.convert(ResponseBody.create(JSON, payload));
+    }
+}
@@ -0,0 +1,33 @@
+package com.sqa.services;
+
+import com.sqa.utils.TestLogger;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LoadDriverTest implements TestLogger {
+
+    @Test
+    public void drivesStubAtTargetRate() throws IOException, InterruptedException {
+        try (StubServer stub = new StubServer()) {
+            stub.start();
+            LoadDriver<GitHubService> driver = new LoadDriver<>(GitHubService.class, stub.url());
+
+            LoadDriver.Report report = driver.run(GitHubService::getZen, 100, Duration.ofSeconds(1));
+            driver.shutdown();
+            log("%s", report.toString());
+
+            assertAll(
+                    () -> assertEquals(100, report.requests()),
+                    () -> assertEquals(100, stub.requestCount()),
+                    () -> assertEquals(0, report.errors() + report.failures()),
+                    () -> assertEquals(100, report.latencies().getTotalCount()),
+                    () -> assertTrue(report.percentileMillis(50) > 0, "p50"));
+        }
+    }
+}
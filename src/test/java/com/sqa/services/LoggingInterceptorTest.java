@@ -0,0 +1,145 @@
+package com.sqa.services;
+
+import com.sqa.utils.TestLogger;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okio.Buffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LoggingInterceptorTest {
+
+    private static final String ZEN = "Keep it logically awesome.";
+
+    private final MockWebServer server = new MockWebServer();
+    private final List<String> messages = new CopyOnWriteArrayList<>();
+    private final TestLogger logger = new TestLogger() {
+        @Override
+        public void log(String message, String... args) {
+            messages.add(String.format(message, (Object[]) args));
+        }
+    };
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        server.start();
+    }
+
+    @AfterEach
+    public void stopServer() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void headersModeLeavesBodyOut() throws IOException {
+        server.enqueue(zen());
+
+        String body = get(LoggingInterceptor.Level.HEADERS, LoggingInterceptor.UNLIMITED);
+
+        assertAll(
+                () -> assertEquals(ZEN, body),
+                () -> assertEquals(2, messages.size()),
+                () -> assertTrue(messages.get(0).startsWith("Sending 'GET' request to '" + server.url("/zen") + "'")),
+                () -> assertTrue(messages.get(1).contains("Content-Type: text/plain")),
+                () -> assertFalse(messages.get(1).contains("Body:")));
+    }
+
+    @Test
+    public void unlimitedBodyModeLogsWholeBody() throws IOException {
+        server.enqueue(zen());
+
+        String body = get(LoggingInterceptor.Level.BODY, LoggingInterceptor.UNLIMITED);
+
+        assertAll(
+                () -> assertEquals(ZEN, body),
+                () -> assertTrue(messages.get(1).endsWith("\nBody: " + ZEN)));
+    }
+
+    @Test
+    public void peekLimitTruncatesLongerBodies() throws IOException {
+        server.enqueue(zen());
+        server.enqueue(zen());
+
+        String truncated = get(LoggingInterceptor.Level.BODY, 10);
+        String exact = get(LoggingInterceptor.Level.BODY, ZEN.length());
+
+        assertAll(
+                () -> assertEquals(ZEN, truncated),
+                () -> assertEquals(ZEN, exact),
+                () -> assertTrue(messages.get(1).endsWith("\nBody: Keep it lo... (truncated at 10 bytes)")),
+                () -> assertTrue(messages.get(3).endsWith("\nBody: " + ZEN)));
+    }
+
+    @Test
+    public void peekLimitDoesNotWaitForStreamingBody() throws IOException {
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Type", "text/plain")
+                .setBody(new Buffer().writeUtf8(repeat('a', 64 * 1024)))
+                .throttleBody(1024, 100, TimeUnit.MILLISECONDS));
+        OkHttpClient client = client(LoggingInterceptor.Level.BODY, 16);
+
+        long start = System.nanoTime();
+        try (Response response = client.newCall(new Request.Builder().url(server.url("/zen")).build()).execute()) {
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            String prefix = response.body().source().readUtf8(16);
+            assertAll(
+                    () -> assertTrue(elapsedMillis < 2_000, "headers after " + elapsedMillis + "ms"),
+                    () -> assertEquals(repeat('a', 16), prefix),
+                    () -> assertTrue(messages.get(1).endsWith("\nBody: " + repeat('a', 16) + "... (truncated at 16 bytes)")));
+        }
+    }
+
+    @Test
+    public void omitsBinaryBodies() throws IOException {
+        server.enqueue(new MockResponse().setHeader("Content-Type", "image/png").setBody(new Buffer().write(new byte[8])));
+
+        get(LoggingInterceptor.Level.BODY, LoggingInterceptor.UNLIMITED);
+
+        assertTrue(messages.get(1).endsWith("\nBody: <image/png body omitted, 8 bytes>"));
+    }
+
+    @Test
+    public void rejectsNegativePeekLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new LoggingInterceptor(LoggingInterceptor.Level.BODY, -2));
+    }
+
+    private String get(LoggingInterceptor.Level level, long bodyPeekLimit) throws IOException {
+        Request request = new Request.Builder().url(server.url("/zen")).build();
+        try (Response response = client(level, bodyPeekLimit).newCall(request).execute()) {
+            return response.body().string();
+        }
+    }
+
+    private OkHttpClient client(LoggingInterceptor.Level level, long bodyPeekLimit) {
+        return new OkHttpClient.Builder()
+                .addInterceptor(new LoggingInterceptor(level, bodyPeekLimit, logger))
+                .build();
+    }
+
+    private static MockResponse zen() {
+        return new MockResponse().setHeader("Content-Type", "text/plain").setBody(ZEN);
+    }
+
+    private static String repeat(char c, int count) {
+        StringBuilder builder = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+}
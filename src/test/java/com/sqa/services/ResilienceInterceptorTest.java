@@ -0,0 +1,231 @@
+package com.sqa.services;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.converter.scalars.ScalarsConverterFactory;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResilienceInterceptorTest {
+
+    private final MockWebServer server = new MockWebServer();
+    private ResilienceInterceptor resilience;
+    private OkHttpClient client;
+    private GitHubService gitHubService;
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        server.start();
+        AtomicReference<OkHttpClient> self = new AtomicReference<>();
+        resilience = new ResilienceInterceptor(self::get, 2, 10, 3, 60_000);
+        client = new OkHttpClient.Builder().addInterceptor(resilience).build();
+        self.set(client);
+        gitHubService = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(client)
+                .addConverterFactory(ScalarsConverterFactory.create())
+                .addConverterFactory(JacksonConverterFactory.create())
+                .build()
+                .create(GitHubService.class);
+    }
+
+    @AfterEach
+    public void stopServer() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void retriesGetButNotPost() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setResponseCode(502));
+        server.enqueue(new MockResponse().setBody("[]"));
+        server.enqueue(new MockResponse().setResponseCode(503));
+
+        Response<?> get = gitHubService.getUsersIssues("Bearer token", "ilyademchenko").execute();
+        Response<?> post = gitHubService.postIssue("application/json", "Bearer token", "ilyademchenko", "{}").execute();
+
+        assertAll(
+                () -> assertEquals(200, get.code()),
+                () -> assertEquals(503, post.code()),
+                () -> assertEquals(4, server.getRequestCount()));
+    }
+
+    @Test
+    public void hedgedCallTakesFirstAnswer() throws IOException {
+        server.enqueue(new MockResponse().setBody("slow").setHeadersDelay(5, TimeUnit.SECONDS));
+        server.enqueue(new MockResponse().setBody("Keep it logically awesome."));
+
+        long start = System.nanoTime();
+        String zen = gitHubService.getZen().execute().body();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertAll(
+                () -> assertEquals("Keep it logically awesome.", zen),
+                () -> assertEquals(2, server.getRequestCount()),
+                () -> assertTrue(elapsedMillis < 2_000, "elapsed " + elapsedMillis + "ms"));
+    }
+
+    @Test
+    public void failedFirstAttemptStartsHedgeAtOnce() throws IOException {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        server.enqueue(new MockResponse().setBody("Keep it logically awesome."));
+
+        long start = System.nanoTime();
+        String zen = gitHubService.getZen().execute().body();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // the hedge delay is 500 ms until enough latencies are recorded
+        assertAll(
+                () -> assertEquals("Keep it logically awesome.", zen),
+                () -> assertEquals(2, server.getRequestCount()),
+                () -> assertTrue(elapsedMillis < 400, "elapsed " + elapsedMillis + "ms"));
+    }
+
+    @Test
+    public void opensCircuitAfterConsecutiveFailures() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setResponseCode(500));
+        }
+
+        assertEquals(500, gitHubService.getUsersIssues("Bearer token", "ilyademchenko").execute().code());
+        IOException rejected = assertThrows(IOException.class,
+                () -> gitHubService.getUsersIssues("Bearer token", "ilyademchenko").execute());
+
+        assertAll(
+                () -> assertEquals(CircuitBreaker.State.OPEN, resilience.circuitBreaker(server.getHostName()).state()),
+                () -> assertTrue(rejected.getMessage().startsWith("Circuit breaker open")),
+                () -> assertEquals(3, server.getRequestCount()));
+    }
+
+    @Test
+    public void resetHedgeDelaysForgetsLearnedLatencies() throws IOException {
+        AtomicInteger served = new AtomicInteger();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                MockResponse response = new MockResponse().setBody("Keep it logically awesome.");
+                return served.incrementAndGet() <= 20 ? response : response.setHeadersDelay(200, TimeUnit.MILLISECONDS);
+            }
+        });
+        for (int i = 0; i < 20; i++) {
+            gitHubService.getZen().execute();
+        }
+
+        resilience.resetHedgeDelays();
+        String zen = gitHubService.getZen().execute().body();
+
+        assertAll(
+                () -> assertEquals("Keep it logically awesome.", zen),
+                () -> assertEquals(21, server.getRequestCount()));
+    }
+
+    @Test
+    public void rateLimitsDoNotOpenCircuit() throws IOException {
+        for (int i = 0; i < 4; i++) {
+            server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "0"));
+        }
+        server.enqueue(new MockResponse().setResponseCode(201).setBody("{}"));
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(429, gitHubService.postIssue("application/json", "Bearer token", "ilyademchenko", "{}").execute().code());
+        }
+        int created = gitHubService.postIssue("application/json", "Bearer token", "ilyademchenko", "{}").execute().code();
+
+        assertAll(
+                () -> assertEquals(201, created),
+                () -> assertEquals(CircuitBreaker.State.CLOSED, resilience.circuitBreaker(server.getHostName()).state()),
+                () -> assertEquals(5, server.getRequestCount()));
+    }
+
+    @Test
+    public void hedgedCallsBeyondPerHostLimitComplete() throws InterruptedException {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setBody("Keep it logically awesome.").setHeadersDelay(20, TimeUnit.MILLISECONDS);
+            }
+        });
+        int calls = client.dispatcher().getMaxRequestsPerHost() * 4;
+        CountDownLatch done = new CountDownLatch(calls);
+        AtomicInteger succeeded = new AtomicInteger();
+
+        for (int i = 0; i < calls; i++) {
+            gitHubService.getZen().enqueue(new Callback<String>() {
+                @Override
+                public void onResponse(Call<String> call, Response<String> response) {
+                    if (response.isSuccessful()) {
+                        succeeded.incrementAndGet();
+                    }
+                    done.countDown();
+                }
+
+                @Override
+                public void onFailure(Call<String> call, Throwable t) {
+                    done.countDown();
+                }
+            });
+        }
+
+        assertAll(
+                () -> assertTrue(done.await(10, TimeUnit.SECONDS), "calls still running: " + done.getCount()),
+                () -> assertEquals(calls, succeeded.get()));
+    }
+
+    @Test
+    public void cancelingHedgedCallCancelsItsAttempts() throws Exception {
+        server.enqueue(new MockResponse().setBody("slow").setHeadersDelay(2, TimeUnit.SECONDS));
+        Call<String> zen = gitHubService.getZen();
+        CompletableFuture<Throwable> failure = new CompletableFuture<>();
+        zen.enqueue(new Callback<String>() {
+            @Override
+            public void onResponse(Call<String> call, Response<String> response) {
+                failure.complete(null);
+            }
+
+            @Override
+            public void onFailure(Call<String> call, Throwable t) {
+                failure.complete(t);
+            }
+        });
+        awaitRequests(1);
+
+        zen.cancel();
+
+        Throwable thrown = failure.get(2, TimeUnit.SECONDS);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (resilience.runningAttempts() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertAll(
+                () -> assertTrue(thrown instanceof IOException, String.valueOf(thrown)),
+                () -> assertEquals(0, resilience.runningAttempts()));
+    }
+
+    private void awaitRequests(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (server.getRequestCount() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.sqa.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sqa.utils.IssueFixtures;
+import com.sqa.utils.Json;
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import okio.Okio;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local HTTP server that answers every {@link GitHubService} and {@link GorestService} endpoint
+ * with recorded responses from {@code resources/stubs}, so the suites can run without network.
+ * Both APIs are served from the same root, see {@link Endpoints}.
+ */
+public final class StubServer implements Closeable {
+
+    private static final Pattern ISSUES = Pattern.compile("/repos/([^/]+)/rest/issues");
+    private static final Pattern GOREST_POSTS = Pattern.compile("/public/v1/users/(\\d+)/posts");
+    private static final String JSON = "application/json; charset=utf-8";
+
+    private static final Map<String, String> RESOURCES = new ConcurrentHashMap<>();
+
+    private static StubServer shared;
+
+    private final MockWebServer server = new MockWebServer();
+    private final AtomicInteger issueNumbers = new AtomicInteger(100);
+    private final String issuesPage;
+
+    static {
+        // MockWebServer logs every request at INFO, which dominates the cost of a stubbed call
+        Logger.getLogger(MockWebServer.class.getName()).setLevel(Level.WARNING);
+    }
+
+    public StubServer() {
+        this.issuesPage = "["
+                + IssueFixtures.issueJson(2, "lux-training Vladimir", "Description of issue") + ","
+                + IssueFixtures.issueJson(1, "lux-training 09", "Description of issue")
+                + "]";
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return StubServer.this.dispatch(request);
+            }
+        });
+    }
+
+    /**
+     * Server started on first use and stopped at JVM shutdown.
+     */
+    public static synchronized StubServer shared() {
+        if (shared == null) {
+            StubServer stub = new StubServer();
+            try {
+                stub.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot start stub server", e);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(stub::close, "stub-server-shutdown"));
+            shared = stub;
+        }
+        return shared;
+    }
+
+    public StubServer start() throws IOException {
+        server.start();
+        return this;
+    }
+
+    public String url() {
+        return server.url("/").toString();
+    }
+
+    public int requestCount() {
+        return server.getRequestCount();
+    }
+
+    @Override
+    public void close() {
+        try {
+            server.shutdown();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private MockResponse dispatch(RecordedRequest request) {
+        HttpUrl url = request.getRequestUrl();
+        String path = url.encodedPath();
+        String method = request.getMethod();
+
+        if ("GET".equals(method) && "/zen".equals(path)) {
+            return ok("text/plain;charset=utf-8", resource("github/zen.txt"));
+        }
+        if ("GET".equals(method) && "/users/defunkt".equals(path)) {
+            return ok(JSON, resource("github/defunkt.json"));
+        }
+        Matcher issues = ISSUES.matcher(path);
+        if (issues.matches()) {
+            return "POST".equals(method) ? createIssue(request) : listIssues(request);
+        }
+        Matcher posts = GOREST_POSTS.matcher(path);
+        if ("POST".equals(method) && posts.matches()) {
+            return createPost(request, Long.parseLong(posts.group(1)));
+        }
+        return error(404, "Not Found", resource("github/not-found.json"));
+    }
+
+    private MockResponse listIssues(RecordedRequest request) {
+        if (request.getHeader("Authorization") == null) {
+            return error(404, "Not Found", resource("github/not-found.json"));
+        }
+        String accept = request.getHeader("Accept");
+        if (accept != null && !accept.contains("json") && !accept.contains("*/*")) {
+            return error(415, "Unsupported Media Type", resource("github/unsupported-media-type.json"));
+        }
+        return ok(JSON, issuesPage);
+    }
+
+    private MockResponse createIssue(RecordedRequest request) {
+        if (request.getHeader("Authorization") == null) {
+            return error(401, "Unauthorized", resource("github/requires-authentication.json"));
+        }
+        try {
+            JsonNode body = Json.MAPPER.readTree(request.getBody().readUtf8());
+            String title = body.path("title").asText(null);
+            if (title == null) {
+                return error(422, "Unprocessable Entity",
+                        "{\"message\":\"Validation Failed\",\"errors\":[{\"resource\":\"Issue\",\"code\":\"missing_field\",\"field\":\"title\"}]}");
+            }
+            String issue = IssueFixtures.issueJson(issueNumbers.incrementAndGet(), title, body.path("body").asText(""));
+            return new MockResponse()
+                    .setStatus("HTTP/1.1 201 Created")
+                    .setHeader("Content-Type", JSON)
+                    .setBody(issue);
+        } catch (IOException e) {
+            return error(400, "Bad Request", "{\"message\":\"Problems parsing JSON\"}");
+        }
+    }
+
+    private MockResponse createPost(RecordedRequest request, long userId) {
+        if (request.getHeader("Authorization") == null) {
+            return error(401, "Unauthorized", resource("gorest/unauthorized.json"));
+        }
+        Map<String, String> params = formParams(request);
+        HttpUrl url = request.getRequestUrl();
+        for (String name : url.queryParameterNames()) {
+            params.put(name, url.queryParameter(name));
+        }
+
+        ObjectNode data = Json.MAPPER.createObjectNode()
+                .put("id", issueNumbers.incrementAndGet())
+                .put("user_id", userId)
+                .put("title", params.get("title"))
+                .put("body", params.get("body"));
+        ObjectNode response = Json.MAPPER.createObjectNode();
+        response.putNull("meta");
+        response.set("data", data);
+        return new MockResponse()
+                .setStatus("HTTP/1.1 201 Created")
+                .setHeader("Content-Type", JSON)
+                .setBody(response.toString());
+    }
+
+    private static Map<String, String> formParams(RecordedRequest request) {
+        Map<String, String> params = new HashMap<>();
+        String contentType = request.getHeader("Content-Type");
+        if (contentType == null || !contentType.startsWith("application/x-www-form-urlencoded")) {
+            return params;
+        }
+        try {
+            for (String pair : request.getBody().readUtf8().split("&")) {
+                int separator = pair.indexOf('=');
+                if (separator > 0) {
+                    params.put(URLDecoder.decode(pair.substring(0, separator), "UTF-8"),
+                            URLDecoder.decode(pair.substring(separator + 1), "UTF-8"));
+                }
+            }
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+        return params;
+    }
+
+    private static MockResponse ok(String contentType, String body) {
+        return new MockResponse()
+                .setHeader("Content-Type", contentType)
+                .setBody(body);
+    }
+
+    private static MockResponse error(int code, String reason, String body) {
+        return new MockResponse()
+                .setStatus("HTTP/1.1 " + code + " " + reason)
+                .setHeader("Content-Type", JSON)
+                .setBody(body);
+    }
+
+    private static String resource(String name) {
+        return RESOURCES.computeIfAbsent(name, StubServer::load);
+    }
+
+    private static String load(String name) {
+        try (InputStream stream = StubServer.class.getResourceAsStream("/stubs/" + name)) {
+            if (stream == null) {
+                throw new IllegalStateException("Missing stub resource " + name);
+            }
+            Buffer buffer = new Buffer();
+            buffer.writeAll(Okio.source(stream));
+            return buffer.readString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
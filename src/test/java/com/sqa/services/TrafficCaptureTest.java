@@ -0,0 +1,148 @@
+package com.sqa.services;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TrafficCaptureTest {
+
+    private static final MediaType JSON = MediaType.get("application/json");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void replaysRecordedExchangesWithoutNetwork() throws IOException {
+        Path file = directory.resolve("traffic.capture");
+        MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setHeader("Content-Type", "text/plain").setBody("Keep it logically awesome."));
+        server.enqueue(new MockResponse().setResponseCode(201).setBody("{\"title\":\"lux-training 09\"}"));
+        server.start();
+        String zenUrl = server.url("/zen").toString();
+        String issuesUrl = server.url("/repos/ilyademchenko/rest/issues").toString();
+
+        try (TrafficCapture recording = TrafficCapture.forRecording(file)) {
+            OkHttpClient recorder = client(recording, TrafficCapture.Mode.RECORD);
+            assertEquals("Keep it logically awesome.", get(recorder, zenUrl));
+            assertEquals("{\"title\":\"lux-training 09\"}", post(recorder, issuesUrl, "{\"title\":\"lux-training 09\"}").body().string());
+        }
+        server.shutdown();
+
+        try (TrafficCapture replay = TrafficCapture.forReplay(file)) {
+            OkHttpClient replayer = client(replay, TrafficCapture.Mode.REPLAY);
+            Response created = post(replayer, issuesUrl, "{\"title\":\"lux-training 09\"}");
+            assertAll(
+                    () -> assertEquals(2, replay.size()),
+                    () -> assertEquals("Keep it logically awesome.", get(replayer, zenUrl)),
+                    () -> assertEquals(201, created.code()),
+                    () -> assertEquals("{\"title\":\"lux-training 09\"}", created.body().string()),
+                    () -> assertThrows(IOException.class,
+                            () -> post(replayer, issuesUrl, "{\"title\":\"another title\"}")));
+        }
+    }
+
+    @Test
+    public void replaysEachHeaderVariantOfUrl() throws IOException {
+        Path file = directory.resolve("traffic.capture");
+        MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setResponseCode(404).setBody("not found"));
+        server.enqueue(new MockResponse().setBody("[]"));
+        server.enqueue(new MockResponse().setResponseCode(415).setBody("unsupported"));
+        server.start();
+        String issuesUrl = server.url("/repos/ilyademchenko/rest/issues").toString();
+
+        try (TrafficCapture recording = TrafficCapture.forRecording(file)) {
+            OkHttpClient recorder = client(recording, TrafficCapture.Mode.RECORD);
+            get(recorder, issuesUrl, null, null);
+            get(recorder, issuesUrl, "Bearer token", "application/json");
+            get(recorder, issuesUrl, "Bearer token", "application/xml");
+        }
+        server.shutdown();
+
+        try (TrafficCapture replay = TrafficCapture.forReplay(file)) {
+            OkHttpClient replayer = client(replay, TrafficCapture.Mode.REPLAY);
+            assertAll(
+                    () -> assertEquals(3, replay.size()),
+                    () -> assertEquals(404, get(replayer, issuesUrl, null, null)),
+                    () -> assertEquals(200, get(replayer, issuesUrl, "Bearer token", "application/json")),
+                    () -> assertEquals(415, get(replayer, issuesUrl, "Bearer token", "application/xml")),
+                    () -> assertThrows(IOException.class,
+                            () -> get(replayer, issuesUrl, "Bearer other", "application/json")));
+        }
+        assertFalse(new String(Files.readAllBytes(file), StandardCharsets.UTF_8).contains("Bearer token"));
+    }
+
+    @Test
+    public void replayMissesDoNotOpenCircuitBreaker() throws IOException {
+        Path file = directory.resolve("traffic.capture");
+        MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setBody("Keep it logically awesome."));
+        server.start();
+        String zenUrl = server.url("/zen").toString();
+        try (TrafficCapture recording = TrafficCapture.forRecording(file)) {
+            get(client(recording, TrafficCapture.Mode.RECORD), zenUrl);
+        }
+        server.shutdown();
+
+        try (TrafficCapture replay = TrafficCapture.forReplay(file)) {
+            ResilienceInterceptor resilience = new ResilienceInterceptor(() -> null, 2, 10, 2, 60_000);
+            OkHttpClient replayer = new OkHttpClient.Builder()
+                    .addInterceptor(new TrafficCaptureInterceptor(replay, TrafficCapture.Mode.REPLAY))
+                    .addInterceptor(resilience)
+                    .build();
+            for (int i = 0; i < 3; i++) {
+                String missing = server.url("/missing/" + i).toString();
+                assertThrows(IOException.class, () -> get(replayer, missing));
+            }
+
+            assertAll(
+                    () -> assertEquals("Keep it logically awesome.", get(replayer, zenUrl)),
+                    () -> assertEquals(CircuitBreaker.State.CLOSED, resilience.circuitBreaker(server.getHostName()).state()));
+        }
+    }
+
+    private static OkHttpClient client(TrafficCapture capture, TrafficCapture.Mode mode) {
+        return new OkHttpClient.Builder()
+                .addInterceptor(new TrafficCaptureInterceptor(capture, mode))
+                .build();
+    }
+
+    private static String get(OkHttpClient client, String url) throws IOException {
+        try (Response response = client.newCall(new Request.Builder().url(url).build()).execute()) {
+            return response.body().string();
+        }
+    }
+
+    private static int get(OkHttpClient client, String url, String authorization, String accept) throws IOException {
+        Request.Builder request = new Request.Builder().url(url);
+        if (authorization != null) {
+            request.header("Authorization", authorization);
+        }
+        if (accept != null) {
+            request.header("Accept", accept);
+        }
+        try (Response response = client.newCall(request.build()).execute()) {
+            return response.code();
+        }
+    }
+
+    private static Response post(OkHttpClient client, String url, String body) throws IOException {
+        return client.newCall(new Request.Builder().url(url).post(RequestBody.create(JSON, body)).build()).execute();
+    }
+}
@@ -0,0 +1,73 @@
+package com.sqa.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsyncTestLoggerTest {
+
+    @Test
+    public void writesEveryMessageFromConcurrentProducers() throws InterruptedException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AsyncTestLogger logger = new AsyncTestLogger(
+                16, AsyncTestLogger.OverflowPolicy.BLOCK, new PrintStream(out, true), new PrintStream(out, true));
+
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            String name = "producer-" + t;
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    logger.log("%s message %s", name, String.valueOf(i));
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        logger.close();
+
+        String[] lines = out.toString().split(System.lineSeparator());
+        assertAll(
+                () -> assertEquals(2000, lines.length),
+                () -> assertTrue(out.toString().contains("producer-3 message 499")),
+                () -> assertEquals(0, logger.droppedCount()));
+    }
+
+    @Test
+    public void writesMessagesLoggedAfterClose() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrintStream stream = new PrintStream(out, true);
+        AsyncTestLogger logger = new AsyncTestLogger(4, AsyncTestLogger.OverflowPolicy.BLOCK, stream, stream);
+
+        logger.close();
+        logger.log("report %s", "after close");
+
+        assertEquals("report after close" + System.lineSeparator(), out.toString());
+    }
+
+    @Test
+    public void dropsMessagesWhenFullAndPolicyIsDrop() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrintStream stream = new PrintStream(out, true);
+        AsyncTestLogger logger = new AsyncTestLogger(4, AsyncTestLogger.OverflowPolicy.DROP, stream, stream);
+
+        // the writer drains under the logger's monitor, so holding it keeps the buffer full
+        synchronized (logger) {
+            for (int i = 0; i < 100; i++) {
+                logger.log("message %s", String.valueOf(i));
+            }
+        }
+        logger.close();
+
+        assertTrue(logger.droppedCount() > 0, "Dropped messages");
+    }
+}
@@ -0,0 +1,168 @@
+package com.sqa.utils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Generates GitHub-shaped issue JSON locally, for converter comparisons, benchmarks and stubs
+ * that must not depend on the network.
+ */
+public final class IssueFixtures {
+
+    public static final String OWNER = "ilyademchenko";
+    private static final String API = "https://api.github.com/";
+    private static final String REPO = API + "repos/" + OWNER + "/rest";
+
+    private IssueFixtures() {
+    }
+
+    public static byte[] issuesJsonBytes(int count) {
+        return issuesJson(count).getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static String issuesJson(int count) {
+        StringBuilder json = new StringBuilder(count * 3200 + 2).append('[');
+        for (int number = 1; number <= count; number++) {
+            if (number > 1) {
+                json.append(',');
+            }
+            appendIssue(json, number, "lux-training " + number, "Description of issue " + number);
+        }
+        return json.append(']').toString();
+    }
+
+    public static String issueJson(int number, String title, String body) {
+        StringBuilder json = new StringBuilder(3200);
+        appendIssue(json, number, title, body);
+        return json.toString();
+    }
+
+    public static String userJson(String login, long id) {
+        StringBuilder json = new StringBuilder(1200);
+        appendUser(json, login, id);
+        return json.toString();
+    }
+
+    private static void appendIssue(StringBuilder json, int number, String title, String body) {
+        String url = REPO + "/issues/" + number;
+        boolean closed = number % 5 == 0;
+        json.append('{')
+                .append("\"url\":\"").append(url).append("\",")
+                .append("\"repository_url\":\"").append(REPO).append("\",")
+                .append("\"labels_url\":\"").append(url).append("/labels{/name}\",")
+                .append("\"comments_url\":\"").append(url).append("/comments\",")
+                .append("\"events_url\":\"").append(url).append("/events\",")
+                .append("\"html_url\":\"https://github.com/").append(OWNER).append("/rest/issues/").append(number).append("\",")
+                .append("\"id\":").append(1_000_000_000L + number).append(',')
+                .append("\"node_id\":\"I_kwDOGZ").append(Integer.toHexString(number)).append("\",")
+                .append("\"number\":").append(number).append(',')
+                .append("\"title\":\"").append(escape(title)).append("\",")
+                .append("\"user\":");
+        appendUser(json, OWNER, 1000L + number % 7);
+        json.append(",\"labels\":[");
+        if (number % 3 == 0) {
+            json.append("{\"id\":").append(3_000_000_000L + number)
+                    .append(",\"node_id\":\"LA_kwDOGZ").append(number)
+                    .append("\",\"url\":\"").append(REPO).append("/labels/bug\"")
+                    .append(",\"name\":\"bug\",\"color\":\"d73a4a\",\"default\":true")
+                    .append(",\"description\":\"Something isn't working\"}");
+        }
+        json.append("],")
+                .append("\"state\":\"").append(closed ? "closed" : "open").append("\",")
+                .append("\"locked\":false,")
+                .append("\"assignee\":");
+        boolean assigned = number % 4 == 0;
+        if (assigned) {
+            appendUser(json, OWNER, 1000L);
+        } else {
+            json.append("null");
+        }
+        json.append(",\"assignees\":[");
+        if (assigned) {
+            appendUser(json, OWNER, 1000L);
+        }
+        json.append("],\"milestone\":");
+        if (number % 6 == 0) {
+            appendMilestone(json, 1 + number / 100);
+        } else {
+            json.append("null");
+        }
+        json.append(',')
+                .append("\"comments\":").append(number % 4).append(',')
+                .append("\"created_at\":\"2021-10-").append(10 + number % 18).append("T10:15:30Z\",")
+                .append("\"updated_at\":\"2021-11-").append(10 + number % 18).append("T08:00:00Z\",")
+                .append("\"closed_at\":").append(closed ? "\"2021-11-30T12:00:00Z\"" : "null").append(',')
+                .append("\"author_association\":\"OWNER\",")
+                .append("\"active_lock_reason\":null,")
+                .append("\"body\":\"").append(escape(body)).append("\",")
+                .append("\"performed_via_github_app\":null")
+                .append('}');
+    }
+
+    private static void appendMilestone(StringBuilder json, int number) {
+        String url = REPO + "/milestones/" + number;
+        json.append('{')
+                .append("\"url\":\"").append(url).append("\",")
+                .append("\"html_url\":\"https://github.com/").append(OWNER).append("/rest/milestone/").append(number).append("\",")
+                .append("\"labels_url\":\"").append(url).append("/labels\",")
+                .append("\"id\":").append(5_000_000L + number).append(',')
+                .append("\"node_id\":\"MI_kwDOGZ").append(number).append("\",")
+                .append("\"number\":").append(number).append(',')
+                .append("\"title\":\"Sprint ").append(number).append("\",")
+                .append("\"description\":null,")
+                .append("\"creator\":");
+        appendUser(json, OWNER, 1000L);
+        json.append(",\"open_issues\":").append(number * 3).append(',')
+                .append("\"closed_issues\":").append(number).append(',')
+                .append("\"state\":\"open\",")
+                .append("\"created_at\":\"2021-10-01T09:00:00Z\",")
+                .append("\"updated_at\":\"2021-11-01T09:00:00Z\",")
+                .append("\"due_on\":\"2021-12-01T08:00:00Z\",")
+                .append("\"closed_at\":null")
+                .append('}');
+    }
+
+    private static void appendUser(StringBuilder json, String login, long id) {
+        String url = API + "users/" + login;
+        json.append('{')
+                .append("\"login\":\"").append(login).append("\",")
+                .append("\"id\":").append(id).append(',')
+                .append("\"node_id\":\"MDQ6VXNlcj").append(id).append("\",")
+                .append("\"avatar_url\":\"https://avatars.githubusercontent.com/u/").append(id).append("?v=4\",")
+                .append("\"gravatar_id\":\"\",")
+                .append("\"url\":\"").append(url).append("\",")
+                .append("\"html_url\":\"https://github.com/").append(login).append("\",")
+                .append("\"followers_url\":\"").append(url).append("/followers\",")
+                .append("\"following_url\":\"").append(url).append("/following{/other_user}\",")
+                .append("\"gists_url\":\"").append(url).append("/gists{/gist_id}\",")
+                .append("\"starred_url\":\"").append(url).append("/starred{/owner}{/repo}\",")
+                .append("\"subscriptions_url\":\"").append(url).append("/subscriptions\",")
+                .append("\"organizations_url\":\"").append(url).append("/orgs\",")
+                .append("\"repos_url\":\"").append(url).append("/repos\",")
+                .append("\"events_url\":\"").append(url).append("/events{/privacy}\",")
+                .append("\"received_events_url\":\"").append(url).append("/received_events\",")
+                .append("\"type\":\"User\",")
+                .append("\"site_admin\":false")
+                .append('}');
+    }
+
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    escaped.append("\\\"");
+                    break;
+                case '\\':
+                    escaped.append("\\\\");
+                    break;
+                case '\n':
+                    escaped.append("\\n");
+                    break;
+                default:
+                    escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
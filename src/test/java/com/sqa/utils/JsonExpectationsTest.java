@@ -0,0 +1,64 @@
+package com.sqa.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JsonExpectationsTest {
+
+    private static final byte[] ISSUES = IssueFixtures.issuesJsonBytes(12);
+
+    @Test
+    public void passesWhenEveryPathMatches() {
+        JsonExpectations expectations = JsonExpectations.builder()
+                .equalTo("[11].title", "lux-training 12")
+                .equalTo("[11].number", 12L)
+                .equalTo("[11].locked", false)
+                .equalTo("[11].closed_at", null)
+                .equalTo("[11].user.login", "ilyademchenko")
+                .equalTo("[11].labels[0].name", "bug")
+                .matches("[11].labels", labels -> ((List<?>) labels).size() == 1, "one label")
+                .equalTo("[2].milestone", null)
+                .build();
+
+        assertDoesNotThrow(() -> expectations.verify(ISSUES));
+    }
+
+    @Test
+    public void failsOnFirstMismatchWithoutReadingFurther() {
+        JsonExpectations expectations = JsonExpectations.builder()
+                .equalTo("title", "lux-training 09")
+                .equalTo("body", "Description of issue")
+                .build();
+        byte[] truncated = "{\"title\":\"lux-training 10\",\"body\": ][".getBytes(StandardCharsets.UTF_8);
+
+        AssertionError error = assertThrows(AssertionError.class, () -> expectations.verify(truncated));
+        assertEquals("title: expected <lux-training 09> but was <lux-training 10>", error.getMessage());
+    }
+
+    @Test
+    public void stopsReadingOnceEveryPathIsChecked() {
+        JsonExpectations expectations = JsonExpectations.builder()
+                .equalTo("title", "lux-training 09")
+                .build();
+        byte[] truncated = "{\"title\":\"lux-training 09\",\"body\": ][".getBytes(StandardCharsets.UTF_8);
+
+        assertDoesNotThrow(() -> expectations.verify(truncated));
+    }
+
+    @Test
+    public void reportsMissingPath() {
+        JsonExpectations expectations = JsonExpectations.builder()
+                .equalTo("[0].title", "lux-training 1")
+                .equalTo("[0].assignee.login", "ilyademchenko")
+                .build();
+
+        AssertionError error = assertThrows(AssertionError.class, () -> expectations.verify(ISSUES));
+        assertEquals("[0].assignee.login: path not found", error.getMessage());
+    }
+}
@@ -0,0 +1,68 @@
+package com.sqa.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import okio.Buffer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JsonTemplateTest {
+
+    private static final JsonTemplate ISSUE = JsonTemplate.compile("{\n  \"title\": ?,\n  \"body\": ?\n}");
+
+    @Test
+    public void writesCompactJsonWithEscapedValues() throws IOException {
+        String title = "lux-training \"09\" \\ ?";
+        String body = "line 1\nline 2\t\u0001 кириллица 🚀";
+
+        JsonTemplate.Body bound = ISSUE.bind(title, body);
+        JsonNode parsed = Json.MAPPER.readTree(bound.toByteArray());
+
+        assertAll(
+                () -> assertEquals(title, parsed.path("title").asText()),
+                () -> assertEquals(body, parsed.path("body").asText()),
+                () -> assertEquals(bound.toByteArray().length, bound.contentLength()),
+                () -> assertEquals("application/json; charset=UTF-8", bound.contentType().toString()),
+                () -> assertEquals("{\"title\":\"a\",\"body\":null}", ISSUE.bind("a", null).toString()));
+    }
+
+    @Test
+    public void writesOtherValueTypes() {
+        JsonTemplate template = JsonTemplate.compile("{\"id\": ?, \"locked\": ?, \"labels\": ?, \"note\": \"why?\"}");
+        JsonTemplate.Body bound = template.bind(1_000_000_001L, true, Arrays.asList("bug", "docs"));
+        JsonTemplate.Body extremes = template.bind(Long.MIN_VALUE, false, -7);
+
+        assertAll(
+                () -> assertEquals(3, template.placeholders()),
+                () -> assertEquals("{\"id\":1000000001,\"locked\":true,\"labels\":[\"bug\",\"docs\"],\"note\":\"why?\"}",
+                        bound.toString()),
+                () -> assertEquals(bound.toByteArray().length, bound.contentLength()),
+                () -> assertEquals(extremes.toByteArray().length, extremes.contentLength()));
+    }
+
+    @Test
+    public void rendersAgainOnEveryWrite() throws IOException {
+        JsonTemplate.Body bound = ISSUE.bind("retried", 0);
+        Buffer first = new Buffer();
+        Buffer second = new Buffer();
+        bound.writeTo(first);
+        bound.writeTo(second);
+
+        assertAll(
+                () -> assertEquals("{\"title\":\"retried\",\"body\":0}", first.readUtf8()),
+                () -> assertEquals("{\"title\":\"retried\",\"body\":0}", second.readUtf8()));
+    }
+
+    @Test
+    public void rejectsWrongArityAndInvalidTemplates() {
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> ISSUE.bind("only title")),
+                () -> assertThrows(IllegalArgumentException.class, () -> JsonTemplate.compile("{\"title\": ?")),
+                () -> assertThrows(IllegalArgumentException.class, () -> JsonTemplate.compile("{\"title\" ?}")));
+    }
+}